@@ -0,0 +1,52 @@
+package inf112.gunit.benchmarks;
+
+import inf112.gunit.ai.HardStrategy;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.player.card.ProgramCard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of dealing cards and programming robots
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIBenchmarks {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool();
+
+    @Benchmark
+    public ArrayList<ProgramCard> dealCards(EngineState state) {
+        RobotState robot = state.engine.getRobot(0);
+        state.engine.dealCards(robot);
+        return robot.getCardDeck();
+    }
+
+    /**
+     * Program a robot with the hard AI, from the cards dealt when the game was set up
+     */
+    @Benchmark
+    public ProgramCard[] hardAI(EngineState state) {
+        return new HardStrategy().program(state.engine, state.engine.getRobot(0));
+    }
+
+    /**
+     * Program a robot with the hard AI searching on all cores, with a budget it never reaches
+     */
+    @Benchmark
+    public ProgramCard[] hardAIParallel(EngineState state) {
+        return new HardStrategy(POOL, TimeUnit.MINUTES.toMillis(1)).program(state.engine, state.engine.getRobot(0));
+    }
+}
@@ -0,0 +1,98 @@
+package inf112.gunit.benchmarks;
+
+import inf112.gunit.ai.EasyStrategy;
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.board.Direction;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RandomSource;
+import inf112.gunit.engine.RobotState;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A game on a synthetic board, with the robots spread over the board.
+ * The benchmarks reset the robots before each operation, so every invocation does the same work.
+ */
+@State(Scope.Thread)
+public class EngineState {
+
+    public static final long SEED = 42;
+
+    @Param({"12", "32", "64"})
+    public int boardSize;
+
+    @Param({"2", "4", "8"})
+    public int robots;
+
+    public CompiledBoard board;
+    public GameEngine engine;
+
+    // the position and direction each robot is reset to
+    private int[] cells;
+    private Direction[] directions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        board = new CompiledBoard(new SyntheticBoard(boardSize, robots, SEED));
+
+        RandomSource random = new RandomSource(SEED);
+        cells = new int[robots];
+        directions = new Direction[robots];
+        for (int i = 0; i < robots; i++) {
+            int cell;
+            do {
+                cell = random.nextInt(boardSize * boardSize);
+            } while (board.isHole(cell % boardSize, cell / boardSize) || contains(cells, i, cell));
+
+            cells[i] = cell;
+            directions[i] = Direction.fromOrdinal(random.nextInt(4));
+        }
+
+        newGame();
+        reset();
+    }
+
+    private static boolean contains(int[] arr, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (arr[i] == value) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Start a new game, with a program dealt to each robot
+     */
+    public void newGame() {
+        engine = new GameEngine(board, robots, SEED);
+
+        EasyStrategy strategy = new EasyStrategy();
+        for (RobotState robot : engine.getRobots()) {
+            engine.dealCards(robot);
+            robot.setProgram(strategy.program(engine, robot));
+        }
+    }
+
+    /**
+     * Put the robots back on their cells, facing their directions, ready to fire.
+     * A new game is started if a robot has died.
+     */
+    public void reset() {
+        for (RobotState robot : engine.getRobots()) {
+            if (robot.isDead()) {
+                newGame();
+                break;
+            }
+        }
+
+        for (RobotState robot : engine.getRobots()) {
+            int cell = cells[robot.getId()];
+            engine.place(robot, cell % boardSize, cell / boardSize);
+            robot.setDirection(directions[robot.getId()]);
+            robot.setHasFired(false);
+            robot.setHasSearched(false);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package inf112.gunit.benchmarks;
+
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.board.Direction;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the board elements, movement and lasers.
+ * Most benchmarks reset the robots first, the cost of that is measured by reset().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RulesBenchmarks {
+
+    @Benchmark
+    public GameEngine reset(EngineState state) {
+        state.reset();
+        return state.engine;
+    }
+
+    @Benchmark
+    public GameEngine lasersFire(EngineState state) {
+        state.reset();
+        state.engine.lasersFire();
+        return state.engine;
+    }
+
+    @Benchmark
+    public GameEngine conveyExpress(EngineState state) {
+        state.reset();
+        state.engine.conveyExpress();
+        return state.engine;
+    }
+
+    @Benchmark
+    public GameEngine conveyRegular(EngineState state) {
+        state.reset();
+        state.engine.conveyRegular();
+        return state.engine;
+    }
+
+    @Benchmark
+    public GameEngine rotateGears(EngineState state) {
+        state.reset();
+        state.engine.rotateGears();
+        return state.engine;
+    }
+
+    @Benchmark
+    public GameEngine robotsFire(EngineState state) {
+        state.reset();
+        state.engine.robotsFire();
+        return state.engine;
+    }
+
+    /**
+     * Check if each robot can move in each direction, as done for every step of a move
+     */
+    @Benchmark
+    public int moveIsValid(EngineState state) {
+        int valid = 0;
+        for (RobotState robot : state.engine.getRobots()) {
+            for (int dir = 0; dir < 4; dir++) {
+                int x = robot.getX() + CompiledBoard.DX[dir];
+                int y = robot.getY() + CompiledBoard.DY[dir];
+                if (state.engine.moveIsValid(robot, Direction.fromOrdinal(dir), x, y)) valid++;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Check if the cells next to each robot are free
+     */
+    @Benchmark
+    public int positionIsFree(EngineState state) {
+        int free = 0;
+        for (RobotState robot : state.engine.getRobots()) {
+            for (int dir = 0; dir < 4; dir++) {
+                if (!state.engine.getOccupancy().isOccupied(robot.getX() + CompiledBoard.DX[dir], robot.getY() + CompiledBoard.DY[dir])) free++;
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Start a new game with a program dealt to each robot, the setup cost of registerPhase()
+     */
+    @Benchmark
+    public GameEngine newGame(EngineState state) {
+        state.newGame();
+        return state.engine;
+    }
+
+    /**
+     * One complete register phase: the program cards of all robots followed by all board elements
+     */
+    @Benchmark
+    public GameEngine registerPhase(EngineState state) {
+        state.newGame();
+        state.engine.executePhase(0);
+        state.engine.executeBoardElements();
+        return state.engine;
+    }
+}
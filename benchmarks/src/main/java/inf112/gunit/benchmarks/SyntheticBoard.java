@@ -0,0 +1,115 @@
+package inf112.gunit.benchmarks;
+
+import inf112.gunit.board.Direction;
+import inf112.gunit.board.TileSource;
+import inf112.gunit.engine.RandomSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A randomly generated board of any size, so the benchmarks are not limited to the boards in assets.
+ * The same size, number of robots and seed always give the same board.
+ */
+public class SyntheticBoard implements TileSource {
+
+    private static final Direction[] DIRECTIONS = {Direction.NORTH, Direction.EAST, Direction.SOUTH, Direction.WEST};
+
+    private final int size;
+
+    // the properties of the tile in each cell of each layer, null if the cell is empty
+    private final Map<String, Map<String, String>[]> layers = new HashMap<>();
+
+    /**
+     * The SyntheticBoard constructor
+     * @param size the width and height of the board
+     * @param robots number of start positions, placed on the bottom row
+     * @param seed the seed of the board
+     */
+    public SyntheticBoard(int size, int robots, long seed) {
+        if (robots > size) throw new IllegalArgumentException("The board is too small for " + robots + " robots");
+
+        this.size = size;
+        RandomSource random = new RandomSource(seed);
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                // keep the bottom row free, the robots start there
+                if (y == 0) continue;
+
+                int roll = random.nextInt(100);
+                if (roll < 4) {
+                    put("holes", x, y);
+                } else if (roll < 19) {
+                    Map<String, String> conveyor = put("conveyors", x, y);
+                    conveyor.put("direction", randomDirection(random));
+                    conveyor.put("express", String.valueOf(random.nextBoolean()));
+                    conveyor.put("rotation", String.valueOf(random.nextInt(5) == 0));
+                } else if (roll < 23) {
+                    put("gears", x, y).put("clockwise", String.valueOf(random.nextBoolean()));
+                } else if (roll < 25) {
+                    Map<String, String> laser = put("lasers", x, y);
+                    laser.put("direction", randomDirection(random));
+                    laser.put("damage", "1");
+                }
+
+                if (random.nextInt(100) < 8) put("walls", x, y).put("direction", randomDirection(random));
+            }
+        }
+
+        for (int num = 1; num <= 4; num++) {
+            put("flags", random.nextInt(size), 1 + random.nextInt(size - 1)).put("num", String.valueOf(num));
+        }
+
+        for (int id = 0; id < robots; id++) put("start_" + id, id, 0);
+    }
+
+    private static String randomDirection(RandomSource random) {
+        return DIRECTIONS[random.nextInt(DIRECTIONS.length)].name();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> put(String layer, int x, int y) {
+        Map<String, String>[] cells = layers.get(layer);
+        if (cells == null) {
+            cells = new Map[size * size];
+            layers.put(layer, cells);
+        }
+
+        Map<String, String> props = new HashMap<>();
+        cells[x + y * size] = props;
+        return props;
+    }
+
+    private Map<String, String> get(String layer, int x, int y) {
+        Map<String, String>[] cells = layers.get(layer);
+        if (cells == null || x < 0 || x >= size || y < 0 || y >= size) return null;
+        return cells[x + y * size];
+    }
+
+    @Override
+    public int getWidth() {
+        return size;
+    }
+
+    @Override
+    public int getHeight() {
+        return size;
+    }
+
+    @Override
+    public boolean hasLayer(String layer) {
+        return layers.containsKey(layer);
+    }
+
+    @Override
+    public boolean hasTile(String layer, int x, int y) {
+        return get(layer, x, y) != null;
+    }
+
+    @Override
+    public String getProperty(String layer, int x, int y, String key) {
+        Map<String, String> props = get(layer, x, y);
+        return (props == null) ? null : props.get(key);
+    }
+}
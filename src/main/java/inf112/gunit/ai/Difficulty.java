@@ -0,0 +1,93 @@
+package inf112.gunit.ai;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The difficulty tiers of the AI, defined by how much computing each decision may use:
+ * the number of registers searched, the number of simulated rounds and the time budget.
+ * The latency and strength of each tier on the current hardware is measured by the DifficultyBenchmark.
+ */
+public enum Difficulty {
+
+    // programs the first five cards
+    EASY("Easy", 0, 0, 0),
+    // searches the first three registers on the calling thread, for at most 10 ms
+    MEDIUM("Medium", 3, 0, 10),
+    // searches all registers on the pool, for at most 500 ms
+    HARD("Hard", ProgramPlanner.REGISTERS, 0, 500),
+    // re-ranks the best programs by simulating rounds against sampled programs of the other robots, for at most 1 s
+    EXPERT("Expert", ProgramPlanner.REGISTERS, MonteCarloStrategy.DEFAULT_ITERATIONS, 1000);
+
+    private final String label;
+    private final int depth;
+    private final int iterations;
+    private final long budgetMillis;
+
+    Difficulty(String label, int depth, int iterations, long budgetMillis) {
+        this.label = label;
+        this.depth = depth;
+        this.iterations = iterations;
+        this.budgetMillis = budgetMillis;
+    }
+
+    /**
+     * Create a new instance of the strategy of the tier, each AI robot needs its own instance
+     * @param pool the pool the tiers searching in parallel search in
+     * @return the strategy
+     */
+    public Strategy createStrategy(ForkJoinPool pool) {
+        return createStrategy(pool, null);
+    }
+
+    /**
+     * Create a new instance of the strategy of the tier, looking up programs in a cache if the tier searches all registers
+     * with the default weights, which is the Hard tier. The other tiers don't use the cache
+     * @param pool the pool the tiers searching in parallel search in
+     * @param cache the cache of programs of the board, null to always search
+     * @return the strategy
+     */
+    public Strategy createStrategy(ForkJoinPool pool, ProgramCache cache) {
+        switch (this) {
+            case EASY:
+                return new EasyStrategy();
+            case MEDIUM:
+                return new HardStrategy(null, budgetMillis, depth, null, EvaluationWeights.DEFAULT);
+            case HARD:
+                return new HardStrategy(pool, budgetMillis, depth, cache, EvaluationWeights.DEFAULT);
+            default:
+                return new MonteCarloStrategy(iterations, budgetMillis, MonteCarloStrategy.DEFAULT_CANDIDATES);
+        }
+    }
+
+    /**
+     * Get the name of the tier shown in the menu
+     * @return the label
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Get the number of registers searched, 0 if the tier doesn't search
+     * @return the depth
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Get the number of rounds simulated, 0 if the tier doesn't simulate rounds
+     * @return the iterations
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Get the time after which a decision stops searching, 0 if the tier doesn't search
+     * @return the budget in milliseconds
+     */
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+}
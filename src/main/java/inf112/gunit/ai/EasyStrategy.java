@@ -0,0 +1,27 @@
+package inf112.gunit.ai;
+
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.player.card.ProgramCard;
+
+/**
+ * The AI used when the player selects 'easy'.
+ * Programs the first five cards dealt to the robot.
+ */
+public class EasyStrategy implements Strategy {
+
+    @Override
+    public ProgramCard[] program(GameEngine engine, RobotState robot) {
+        ProgramCard[] program = new ProgramCard[5];
+        for (int i = 0; i < program.length && i < robot.getCardDeck().size(); i++) {
+            program[i] = robot.getCardDeck().get(i);
+        }
+
+        return program;
+    }
+
+    @Override
+    public String toString() {
+        return "easy";
+    }
+}
@@ -0,0 +1,94 @@
+package inf112.gunit.ai;
+
+import java.util.Arrays;
+
+/**
+ * The weights the ProgramPlanner scores the end of a program with, relative to the score of a flag.
+ * Written as the weights separated by colons, in the order of NAMES, such as "1000:10:300:0".
+ */
+public final class EvaluationWeights {
+
+    // the costs of a register left to the next flag, a tile left to the next flag,
+    // a damage marker, and a hole or board edge next to the robot
+    public static final String[] NAMES = {"register", "distance", "damage", "hazard"};
+
+    public static final EvaluationWeights DEFAULT = new EvaluationWeights(1000, 10, 300, 0);
+
+    private static final int REGISTER = 0;
+    private static final int DISTANCE = 1;
+    private static final int DAMAGE = 2;
+    private static final int HAZARD = 3;
+
+    private final int[] values;
+
+    /**
+     * The EvaluationWeights constructor
+     * @param values the weights, in the order of NAMES
+     * @throws IllegalArgumentException if there is not a weight for each name, or a weight is negative
+     */
+    public EvaluationWeights(int... values) {
+        if (values.length != NAMES.length) {
+            throw new IllegalArgumentException("Expected " + NAMES.length + " weights, got " + values.length);
+        }
+        for (int value : values) {
+            if (value < 0) throw new IllegalArgumentException("Weights can't be negative: " + Arrays.toString(values));
+        }
+
+        this.values = values.clone();
+    }
+
+    /**
+     * Parse weights written as by toString
+     * @param text the weights separated by colons
+     * @return the weights
+     * @throws IllegalArgumentException if the text is not valid weights
+     */
+    public static EvaluationWeights parse(String text) {
+        String[] parts = text.split(":");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) values[i] = Integer.parseInt(parts[i].trim());
+
+        return new EvaluationWeights(values);
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public int getRegisterCost() {
+        return values[REGISTER];
+    }
+
+    public int getDistanceCost() {
+        return values[DISTANCE];
+    }
+
+    public int getDamageCost() {
+        return values[DAMAGE];
+    }
+
+    public int getHazardCost() {
+        return values[HAZARD];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EvaluationWeights && Arrays.equals(values, ((EvaluationWeights) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (int value : values) {
+            if (result.length() > 0) result.append(':');
+            result.append(value);
+        }
+
+        return result.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package inf112.gunit.ai;
+
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.player.card.ProgramCard;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The AI used when the player selects 'hard'.
+ * Simulates the orderings of the dealt cards on the board,
+ * and programs the one bringing the robot closest to the next flag while taking the least damage.
+ */
+public class HardStrategy implements Strategy {
+
+    // the pool to search in, null to search on the calling thread
+    private final ForkJoinPool pool;
+    private final long budgetNanos;
+
+    // the number of registers searched
+    private final int depth;
+
+    // the programs found before, null to always search
+    private final ProgramCache cache;
+
+    private final EvaluationWeights weights;
+
+    // the transposition table statistics of all programs planned by the strategy
+    private long tableProbes;
+    private long tableHits;
+
+    /**
+     * Create a strategy searching all programs on the calling thread
+     */
+    public HardStrategy() {
+        this(null, 0);
+    }
+
+    /**
+     * Create a strategy searching on a pool, using the best program found within a time budget
+     * @param pool the pool to search in
+     * @param budgetMillis the time after which the search stops
+     */
+    public HardStrategy(ForkJoinPool pool, long budgetMillis) {
+        this(pool, budgetMillis, null);
+    }
+
+    /**
+     * Create a strategy using the programs found before in the same situation, and storing the programs it finds
+     * @param pool the pool to search in, null to search on the calling thread
+     * @param budgetMillis the time after which the search stops, 0 for no time budget
+     * @param cache the cache of programs
+     */
+    public HardStrategy(ForkJoinPool pool, long budgetMillis, ProgramCache cache) {
+        this(pool, budgetMillis, cache, EvaluationWeights.DEFAULT);
+    }
+
+    /**
+     * Create a strategy searching all programs on the calling thread, scoring them with other weights than the default
+     * @param weights the weights of the score
+     */
+    public HardStrategy(EvaluationWeights weights) {
+        this(null, 0, null, weights);
+    }
+
+    /**
+     * Create a strategy using the programs found before in the same situation, and storing the programs it finds,
+     * scoring them with other weights than the default
+     * @param pool the pool to search in, null to search on the calling thread
+     * @param budgetMillis the time after which the search stops, 0 for no time budget
+     * @param cache the cache of programs, null to always search. The programs are scored with the weights,
+     *              so a cache should only be shared by strategies with the same weights
+     * @param weights the weights of the score
+     */
+    public HardStrategy(ForkJoinPool pool, long budgetMillis, ProgramCache cache, EvaluationWeights weights) {
+        this(pool, budgetMillis, ProgramPlanner.REGISTERS, cache, weights);
+    }
+
+    /**
+     * The HardStrategy constructor
+     * @param pool the pool to search in, null to search on the calling thread
+     * @param budgetMillis the time after which the search stops, 0 for no time budget
+     * @param depth the number of registers searched, 1 to 5. The programs of a cache should be searched to the same depth
+     * @param cache the cache of programs, null to always search
+     * @param weights the weights of the score
+     */
+    public HardStrategy(ForkJoinPool pool, long budgetMillis, int depth, ProgramCache cache, EvaluationWeights weights) {
+        if (depth < 1 || depth > ProgramPlanner.REGISTERS) {
+            throw new IllegalArgumentException("The depth must be between 1 and " + ProgramPlanner.REGISTERS);
+        }
+
+        this.pool = pool;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.depth = depth;
+        this.cache = cache;
+        this.weights = weights;
+    }
+
+    @Override
+    public ProgramCard[] program(GameEngine engine, RobotState robot) {
+        ProgramPlanner planner = new ProgramPlanner(engine, robot, weights);
+        planner.setDepth(depth);
+        if (cache != null) {
+            ProgramCard[] cached = cache.lookup(planner);
+            if (cached != null) return cached;
+        }
+
+        long deadline = (budgetNanos > 0) ? System.nanoTime() + budgetNanos : Long.MAX_VALUE;
+        ProgramCard[] program = (pool != null) ? planner.plan(pool, deadline) : planner.plan(deadline);
+
+        tableProbes += planner.getTableProbes();
+        tableHits += planner.getTableHits();
+
+        if (program == null) return new EasyStrategy().program(engine, robot);
+
+        if (cache != null) cache.store(planner, program, planner.getBestScore());
+        return program;
+    }
+
+    /**
+     * Get the number of states looked up in the transposition tables, by all programs planned so far
+     * @return the number of lookups
+     */
+    public long getTableProbes() {
+        return tableProbes;
+    }
+
+    /**
+     * Get the number of states found in the transposition tables, by all programs planned so far
+     * @return the number of hits
+     */
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    @Override
+    public String toString() {
+        return weights.equals(EvaluationWeights.DEFAULT) ? "hard" : "hard:" + weights;
+    }
+}
@@ -0,0 +1,147 @@
+package inf112.gunit.ai;
+
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.player.card.ProgramCard;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Suggests programs to the player while they are choosing cards.
+ * Each request searches in the background, one register deeper at a time,
+ * so a suggestion is available almost at once and gets better as the search goes deeper.
+ * A new request, such as after the player has chosen another card, cancels the search of the previous one.
+ *
+ * Requests and cancellations are made from the render thread and never wait for a search,
+ * the suggestions are polled with getHint. A request only copies the robots and the cards,
+ * the planner is built by the search.
+ */
+public class HintService {
+
+    private final ExecutorService executor;
+
+    // the search of the latest request, null if there is none
+    private volatile HintSearch current;
+
+    /**
+     * The HintService constructor
+     * @param executor where the searches are run
+     */
+    public HintService(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Start searching for programs starting with the cards the player has chosen, cancelling the previous search.
+     * The search plans on a copy of the robots and the dealt cards, so the engine may change while it runs.
+     * @param engine the engine of the game
+     * @param robot the robot of the player, the cards have already been dealt
+     * @param chosen the cards the player has chosen so far, in order
+     */
+    public void request(GameEngine engine, RobotState robot, List<ProgramCard> chosen) {
+        cancel();
+
+        GameEngine snapshot = new GameEngine(engine.getBoard(), engine.getRobots().length, 0);
+        snapshot.copyFrom(engine);
+        RobotState copy = snapshot.getRobot(robot.getId());
+        copy.getCardDeck().clear();
+        copy.getCardDeck().addAll(robot.getCardDeck());
+
+        HintSearch search = new HintSearch(snapshot, copy, chosen.toArray(new ProgramCard[0]));
+        current = search;
+        search.future = executor.submit(search);
+    }
+
+    /**
+     * Cancel the search of the latest request, and forget its suggestion
+     */
+    public void cancel() {
+        HintSearch search = current;
+        current = null;
+        if (search != null) search.cancel();
+    }
+
+    /**
+     * Get the best program found so far for the latest request
+     * @return the program, starting with the chosen cards, or null if nothing has been found yet
+     */
+    public ProgramCard[] getHint() {
+        HintSearch search = current;
+        return (search != null) ? search.hint : null;
+    }
+
+    /**
+     * Get the number of registers the search of the latest request has looked ahead
+     * @return the number of registers searched for the current hint, 0 if there is no hint
+     */
+    public int getHintDepth() {
+        HintSearch search = current;
+        return (search != null && search.hint != null) ? search.depth : 0;
+    }
+
+    /**
+     * Check if the search of the latest request has finished
+     * @return true if there is no search running, false otherwise
+     */
+    public boolean isDone() {
+        HintSearch search = current;
+        return search == null || search.future == null || search.future.isDone();
+    }
+
+    /**
+     * Searches deeper and deeper, publishing the program found at each depth
+     */
+    private static class HintSearch implements Runnable {
+
+        // the copy of the game and the robot, only read by the search
+        private final GameEngine engine;
+        private final RobotState robot;
+        private final ProgramCard[] chosen;
+        private volatile boolean cancelled;
+
+        // built by the search, null until then
+        private volatile ProgramPlanner planner;
+
+        // written by the search, read by the render thread. The depth is written before the hint
+        private volatile ProgramCard[] hint;
+        private volatile int depth;
+
+        private volatile Future<?> future;
+
+        HintSearch(GameEngine engine, RobotState robot, ProgramCard[] chosen) {
+            this.engine = engine;
+            this.robot = robot;
+            this.chosen = chosen;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) return;
+            ProgramPlanner planner = new ProgramPlanner(engine, robot);
+            this.planner = planner;
+            // a cancel before the planner was published didn't reach it
+            if (cancelled) return;
+
+            for (int registers = Math.max(chosen.length, 1); registers <= ProgramPlanner.REGISTERS && !cancelled; registers++) {
+                planner.setDepth(registers);
+                ProgramCard[] program = planner.plan(chosen, Long.MAX_VALUE);
+                if (program == null || cancelled) return;
+
+                depth = registers;
+                hint = program;
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            ProgramPlanner p = planner;
+            if (p != null) p.cancel();
+
+            // a search which hasn't started yet is removed from the executor
+            Future<?> f = future;
+            if (f != null) f.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package inf112.gunit.ai;
+
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RandomSource;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.player.card.ProgramCard;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An AI which takes the other robots into account, by flat Monte Carlo sampling of their unknown programs.
+ * It doesn't build a search tree: it only re-ranks a fixed list of candidates, so it never plays a program
+ * the planner didn't rank among its best.
+ * The candidate programs are the best programs found by the ProgramPlanner, which ignores the other robots,
+ * searched in half of the time budget.
+ * Each iteration picks a candidate with UCB1, deals each of the other robots a hand of as many cards as it
+ * was really dealt, from the same distribution as the real cards, and programs the first five cards of the hand,
+ * as the EasyStrategy does. The round is then played on a copy of the game with the real priority order,
+ * robot lasers and blocking. The candidate with the best average outcome is programmed.
+ *
+ * The copy of the game and the sampled cards are created once for each program,
+ * so the iterations themselves don't allocate.
+ */
+public class MonteCarloStrategy implements Strategy {
+
+    public static final int DEFAULT_ITERATIONS = 400;
+    public static final int DEFAULT_CANDIDATES = 12;
+
+    // the number of sampled cards the hands of the other robots are dealt from, without dealing a card twice
+    private static final int SAMPLED_CARDS = 128;
+
+    // the part of the time budget the candidates are searched in, the rest is for the simulated rounds
+    private static final int PLANNING_SHARE = 2;
+
+    // the exploration constant of UCB1, for rewards between 0 and 1
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    // outcomes of a round, on top of the score of the state the robot ends up in
+    private static final int WIN_SCORE = 1000000;
+    private static final int DEATH_COST = 200000;
+
+    private final int iterations;
+    private final long budgetNanos;
+    private final int candidates;
+
+    /**
+     * Create a strategy with the default number of iterations and candidates, and no time budget
+     */
+    public MonteCarloStrategy() {
+        this(DEFAULT_ITERATIONS, 0, DEFAULT_CANDIDATES);
+    }
+
+    /**
+     * The MonteCarloStrategy constructor
+     * @param iterations the number of rounds to simulate for each program
+     * @param budgetMillis the time after which no more rounds are simulated, 0 for no time budget
+     * @param candidates the number of programs to choose between
+     */
+    public MonteCarloStrategy(int iterations, long budgetMillis, int candidates) {
+        this.iterations = iterations;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.candidates = candidates;
+    }
+
+    @Override
+    public ProgramCard[] program(GameEngine engine, RobotState robot) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        long planningDeadline = (budgetNanos > 0) ? start + budgetNanos / PLANNING_SHARE : Long.MAX_VALUE;
+
+        ProgramPlanner planner = new ProgramPlanner(engine, robot);
+        List<ProgramCard[]> programs = planner.planCandidates(candidates, planningDeadline);
+        if (programs.isEmpty()) return new EasyStrategy().program(engine, robot);
+        if (programs.size() == 1 || robot.isPoweredDown()) return programs.get(0);
+
+        RandomSource random = robot.getAIRandom();
+        CompiledBoard board = engine.getBoard();
+        GameEngine simulation = new GameEngine(board, engine.getRobots().length, 0);
+
+        ProgramCard[] cards = new ProgramCard[SAMPLED_CARDS];
+        for (int i = 0; i < cards.length; i++) cards[i] = GameEngine.drawCard(random);
+
+        // the order the sampled cards are dealt in, shuffled again for each round
+        int[] deck = new int[SAMPLED_CARDS];
+        for (int i = 0; i < deck.length; i++) deck[i] = i;
+
+        int n = programs.size();
+        int[] visits = new int[n];
+        double[] totals = new double[n];
+
+        // the scores are normalised to [0, 1] by the range seen so far when choosing
+        int minScore = Integer.MAX_VALUE;
+        int maxScore = Integer.MIN_VALUE;
+
+        for (int done = 0; done < iterations; done++) {
+            if (budgetNanos > 0 && System.nanoTime() - deadline > 0) break;
+
+            int candidate = select(visits, totals, done, minScore, maxScore);
+            int score = simulate(engine, simulation, robot.getId(), programs.get(candidate), cards, deck, random, planner);
+
+            visits[candidate]++;
+            totals[candidate] += score;
+            minScore = Math.min(minScore, score);
+            maxScore = Math.max(maxScore, score);
+        }
+
+        // the candidate with the best average outcome, the planner's order breaks ties
+        int best = 0;
+        for (int i = 1; i < n; i++) {
+            if (visits[i] > 0 && (visits[best] == 0 || totals[i] / visits[i] > totals[best] / visits[best])) best = i;
+        }
+
+        return programs.get(best);
+    }
+
+    /**
+     * Choose the candidate to simulate next, with UCB1
+     * @param visits the number of simulations of each candidate
+     * @param totals the sum of the scores of each candidate
+     * @param done the number of simulations done
+     * @param minScore the lowest score seen
+     * @param maxScore the highest score seen
+     * @return the index of the candidate
+     */
+    private static int select(int[] visits, double[] totals, int done, int minScore, int maxScore) {
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        double range = Math.max(1, (double) maxScore - minScore);
+
+        for (int i = 0; i < visits.length; i++) {
+            // every candidate is simulated once before any is simulated twice
+            if (visits[i] == 0) return i;
+
+            double mean = (totals[i] / visits[i] - minScore) / range;
+            double value = mean + EXPLORATION * Math.sqrt(Math.log(done) / visits[i]);
+            if (value > bestValue) {
+                bestValue = value;
+                best = i;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Play a round on the copy of the game, with the programs of the other robots taken from sampled hands
+     * @param engine the real game
+     * @param simulation the copy of the game, reset to the real game
+     * @param id the id of the robot being programmed
+     * @param program the candidate program of the robot
+     * @param cards the cards the hands of the other robots are dealt from
+     * @param deck the indices of the cards, in the order they are dealt
+     * @param random the random source
+     * @param planner the planner, used to score the state of the robot after the round
+     * @return the score of the outcome for the robot, higher is better
+     */
+    private static int simulate(GameEngine engine, GameEngine simulation, int id, ProgramCard[] program,
+                                ProgramCard[] cards, int[] deck, RandomSource random, ProgramPlanner planner) {
+        simulation.copyFrom(engine);
+
+        int dealt = 0;
+        for (RobotState other : simulation.getRobots()) {
+            if (other.getId() == id) {
+                for (int register = 0; register < ProgramPlanner.REGISTERS; register++) other.setProgramCard(register, program[register]);
+                continue;
+            }
+
+            // dead robots aren't dealt cards, and powered down robots keep the program they were given
+            if (other.isDead() || other.isPoweredDown()) continue;
+
+            // deal the hand by shuffling just its cards to the front of the rest of the deck,
+            // and program its first five cards
+            int handSize = GameEngine.handSize(other);
+            for (int i = dealt; i < dealt + handSize; i++) {
+                int j = i + random.nextInt(deck.length - i);
+                int card = deck[j];
+                deck[j] = deck[i];
+                deck[i] = card;
+            }
+            for (int register = 0; register < ProgramPlanner.REGISTERS; register++) {
+                other.setProgramCard(register, cards[deck[dealt + register]]);
+            }
+            dealt += handSize;
+        }
+
+        RobotState robot = simulation.getRobot(id);
+        int lives = robot.getLifeTokens();
+        simulation.playRound();
+
+        if (simulation.getWinner() == robot) return WIN_SCORE;
+
+        int score = planner.score(planner.stateOf(robot));
+        return score - (lives - robot.getLifeTokens()) * DEATH_COST;
+    }
+
+    @Override
+    public String toString() {
+        return "montecarlo";
+    }
+}
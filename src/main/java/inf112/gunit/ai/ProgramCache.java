@@ -0,0 +1,259 @@
+package inf112.gunit.ai;
+
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.player.card.ProgramCard;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The best programs found so far on a board, by situation: the cell, facing, damage and flags of the robot,
+ * and the effects of the cards in its hand. The cache is a hash table in a memory-mapped file,
+ * so it is loaded instantly and survives restarts of the process.
+ *
+ * The other robots are not part of the situation, so a stored program is only used if it scores
+ * at least as well with the robots where they are now as when it was stored.
+ * New programs are written by a background thread, so storing never delays the game.
+ * The game opens the cache of its board for the Hard tier, and the Tournament opens it with -cache true.
+ */
+public class ProgramCache {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final int MAGIC = 0x52525043; // "RRPC"
+    private static final int VERSION = 1;
+
+    // magic, version, board fingerprint and capacity, padded to an entry
+    private static final int HEADER_SIZE = 32;
+
+    // an entry is the situation, the packed program and its score
+    private static final int ENTRY_SIZE = 16;
+    private static final int PROGRAM_OFFSET = 8;
+    private static final int SCORE_OFFSET = 12;
+
+    // marks an entry as used, so an empty entry can be told apart from the situation 0
+    private static final long USED = 1L << 63;
+
+    // the number of entries looked at for a situation before giving up
+    private static final int MAX_PROBES = 8;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final ExecutorService writer;
+
+    private long hits;
+    private long misses;
+
+    private ProgramCache(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "program-cache-writer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Get the file the programs of a map are stored in
+     * @param mapPath the path of the .tmx-file
+     * @return the .programs-file next to the map
+     */
+    public static File fileFor(String mapPath) {
+        return new File(mapPath.endsWith(".tmx") ? mapPath.substring(0, mapPath.length() - 4) + ".programs" : mapPath + ".programs");
+    }
+
+    /**
+     * Open the cache of a board, creating the file if it is missing.
+     * A file belonging to another version of the board, or with another capacity, is cleared.
+     * @param board the compiled board
+     * @param file the file
+     * @param capacity the number of programs the cache holds
+     * @return the cache
+     * @throws IOException if the file can't be opened or mapped
+     */
+    public static ProgramCache open(CompiledBoard board, File file, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            long size = HEADER_SIZE + (long) capacity * ENTRY_SIZE;
+            boolean valid = channel.size() == size;
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            valid = valid && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION
+                    && buffer.getLong(8) == board.getFingerprint() && buffer.getInt(16) == capacity;
+
+            if (!valid) {
+                for (int i = 0; i < size; i += 8) buffer.putLong(i, 0);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putLong(8, board.getFingerprint());
+                buffer.putInt(16, capacity);
+            }
+
+            return new ProgramCache(channel, buffer, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Look up the program of the situation of a robot
+     * @param planner the planner of the robot
+     * @return the stored program, or null if there is none, or it isn't good enough with the other robots where they are now
+     */
+    ProgramCard[] lookup(ProgramPlanner planner) {
+        long situation = planner.situation();
+        if (situation == ProgramPlanner.NO_SITUATION) return null;
+
+        int packed;
+        int score;
+        synchronized (this) {
+            int entry = find(situation);
+            if (entry < 0 || buffer.getLong(entry) != (situation | USED)) {
+                misses++;
+                return null;
+            }
+
+            packed = buffer.getInt(entry + PROGRAM_OFFSET);
+            score = buffer.getInt(entry + SCORE_OFFSET);
+        }
+
+        ProgramCard[] program = planner.decode(packed);
+        boolean good = program != null && planner.evaluate(program) >= score;
+
+        synchronized (this) {
+            if (good) hits++;
+            else misses++;
+        }
+
+        return good ? program : null;
+    }
+
+    /**
+     * Store the program planned for the situation of a robot in the background,
+     * unless a program with a better score is stored already. Programs stored after the cache is closed are dropped
+     * @param planner the planner of the robot, which planned the program
+     * @param program the program
+     * @param score the score of the program
+     */
+    void store(ProgramPlanner planner, ProgramCard[] program, final int score) {
+        final long situation = planner.situation();
+        if (situation == ProgramPlanner.NO_SITUATION) return;
+
+        final int packed = ProgramPlanner.encode(program);
+        try {
+            writer.execute(new Runnable() {
+                @Override
+                public void run() {
+                    put(situation, packed, score);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // an AI still searching when the game closed the cache
+        }
+    }
+
+    private synchronized void put(long situation, int packed, int score) {
+        int entry = find(situation);
+        if (entry < 0) entry = entryOf(hash(situation));
+
+        if (buffer.getLong(entry) == (situation | USED) && buffer.getInt(entry + SCORE_OFFSET) >= score) return;
+
+        buffer.putInt(entry + PROGRAM_OFFSET, packed);
+        buffer.putInt(entry + SCORE_OFFSET, score);
+        buffer.putLong(entry, situation | USED);
+    }
+
+    /**
+     * Find the entry of a situation, or the empty entry it would be stored in
+     * @param situation the situation
+     * @return the position of the entry in the file, or -1 if neither is found within MAX_PROBES entries
+     */
+    private int find(long situation) {
+        int home = hash(situation);
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int entry = entryOf(home + i);
+            long key = buffer.getLong(entry);
+            if (key == 0 || key == (situation | USED)) return entry;
+        }
+
+        return -1;
+    }
+
+    private int entryOf(int index) {
+        return HEADER_SIZE + ((index & Integer.MAX_VALUE) % capacity) * ENTRY_SIZE;
+    }
+
+    private static int hash(long key) {
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (key ^ (key >>> 33));
+    }
+
+    /**
+     * Wait for the programs being stored
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        try {
+            writer.submit(new Runnable() {
+                @Override
+                public void run() {
+                }
+            }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Write the programs still being stored to the file, and close it
+     * @throws IOException if the file can't be written
+     */
+    public void close() throws IOException {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            buffer.force();
+        }
+        channel.close();
+    }
+
+    /**
+     * Get the number of lookups which gave a program
+     * @return the number of hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the number of lookups which didn't give a program
+     * @return the number of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,797 @@
+package inf112.gunit.ai;
+
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.board.Direction;
+import inf112.gunit.board.DistanceField;
+import inf112.gunit.board.LaserBeam;
+import inf112.gunit.board.TransitionTable;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.player.card.CardType;
+import inf112.gunit.player.card.MovementCard;
+import inf112.gunit.player.card.ProgramCard;
+import inf112.gunit.player.card.RotationCard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds the best program for a robot by simulating every ordering of 5 of its dealt cards
+ * with the rules of the board: movement, walls, conveyors, gears, holes and lasers.
+ * The other robots are assumed to stand still, blocking moves and lasers.
+ *
+ * The search is a depth-first search over the registers, where the state of the robot after
+ * each register is packed into an int. A prefix is pruned when the robot dies,
+ * when it plays a card with the same effect as a card already tried in that register,
+ * and when the same state has already been reached with cards of the same effects left,
+ * which is looked up in a transposition table.
+ * Programs are scored by the distance field of the next flag, the registers the robot still needs to reach it.
+ * The search can be split over a fork/join pool, with a deadline after which the best program so far is used.
+ */
+public class ProgramPlanner {
+
+    public static final int REGISTERS = GameEngine.PHASES;
+
+    // the packed state of a robot: facing, damage, flags collected and cell, or DEAD
+    static final int DEAD = -1;
+    private static final int DAMAGE_SHIFT = 2;
+    private static final int FLAGS_SHIFT = 6;
+    private static final int CELL_SHIFT = 9;
+
+    // the score of a flag, the other scores of the states at the end of a program are given by EvaluationWeights
+    private static final int FLAG_SCORE = 100000;
+
+    // the registers counted for states from which the next flag can't be reached
+    private static final int UNREACHABLE_REGISTERS = 50;
+    private static final int DEAD_SCORE = Integer.MIN_VALUE / 2;
+
+    // the effect of a rotation card is ROTATION plus the number of clockwise quarter turns
+    private static final int ROTATION = 10;
+
+    // the cards left are packed as the number of cards of each effect, 4 bits each, after the state.
+    // The dealt movement cards move 1 to MAX_MOVE tiles.
+    private static final int MAX_MOVE = 3;
+    private static final int HAND_BITS = 28;
+
+    // a program stored in the ProgramCache is the hand slot of each card, 3 bits each
+    private static final int SLOT_BITS = 3;
+
+    // the situation of a robot for which no program can be planned
+    static final long NO_SITUATION = -1;
+
+    // the transposition tables hold 2^bits states, a task only searches a small part of the programs
+    private static final int TABLE_BITS = 15;
+    private static final int TASK_TABLE_BITS = 11;
+
+    private final CompiledBoard board;
+    private final RobotState robot;
+    private final TransitionTable express;
+    private final TransitionTable conveyors;
+    private final TransitionTable gears;
+    private final EvaluationWeights weights;
+
+    // the distance field of each flag, indexed by flag number - 1
+    private final DistanceField[] distanceFields;
+
+    private final List<ProgramCard> hand;
+    private final int[] effects;
+
+    // cells occupied by the other robots, and the damage taken at the end of a phase on each cell
+    private final boolean[] occupied;
+    private final int[] laserDamage;
+
+    // the number of holes and board edges next to each cell, only counted if the weights use them
+    private final int[] hazards;
+
+    // the number of registers searched, the rest of the program is filled with the first cards left
+    private int depth = REGISTERS;
+
+    // set from another thread to stop the search as soon as possible
+    private volatile boolean cancelled;
+
+    // statistics of the last plan
+    private int bestScore;
+    private int evaluated;
+    private boolean timedOut;
+    private long tableProbes;
+    private long tableHits;
+
+    /**
+     * The ProgramPlanner constructor, taking a snapshot of the board and the other robots
+     * @param engine the engine of the game
+     * @param robot the robot to plan a program for, the cards have already been dealt
+     */
+    public ProgramPlanner(GameEngine engine, RobotState robot) {
+        this(engine, robot, EvaluationWeights.DEFAULT);
+    }
+
+    /**
+     * Create a planner scoring programs with other weights than the default
+     * @param engine the engine of the game
+     * @param robot the robot to plan a program for, the cards have already been dealt
+     * @param weights the weights of the score
+     */
+    public ProgramPlanner(GameEngine engine, RobotState robot, EvaluationWeights weights) {
+        this.board = engine.getBoard();
+        this.weights = weights;
+        this.robot = robot;
+        this.express = board.getExpressTransitions();
+        this.conveyors = board.getConveyorTransitions();
+        this.gears = board.getGearTransitions();
+
+        distanceFields = new DistanceField[board.getFlagCount()];
+        for (int i = 0; i < distanceFields.length; i++) distanceFields[i] = board.getDistanceField(i + 1);
+        this.hand = robot.getCardDeck();
+
+        effects = new int[hand.size()];
+        for (int i = 0; i < effects.length; i++) effects[i] = effectOf(hand.get(i));
+
+        occupied = new boolean[board.getWidth() * board.getHeight()];
+        for (RobotState other : engine.getRobots()) {
+            if (other != robot && !other.isDead() && board.inBounds(other.getX(), other.getY())) {
+                occupied[board.index(other.getX(), other.getY())] = true;
+            }
+        }
+
+        laserDamage = new int[occupied.length];
+        for (LaserBeam beam : board.getLaserBeams()) {
+            addBeam(beam.getStartX(), beam.getStartY(), beam.getDirection().ordinal(), beam.getLength(), beam.getDamage(), false);
+        }
+        for (RobotState other : engine.getRobots()) {
+            if (other == robot || other.isDead() || other.isPoweredDown() || !board.inBounds(other.getX(), other.getY())) continue;
+
+            Direction dir = other.getDirection();
+            if (dir != Direction.INVALID && !board.isBlocked(other.getX(), other.getY(), dir)) {
+                addBeam(other.getX() + CompiledBoard.DX[dir.ordinal()], other.getY() + CompiledBoard.DY[dir.ordinal()],
+                        dir.ordinal(), Integer.MAX_VALUE, other.getPower(), true);
+            }
+        }
+
+        hazards = (weights.getHazardCost() > 0) ? countHazards(board) : null;
+    }
+
+    private static int[] countHazards(CompiledBoard board) {
+        int[] hazards = new int[board.getWidth() * board.getHeight()];
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                for (int dir = 0; dir < 4; dir++) {
+                    int nx = x + CompiledBoard.DX[dir];
+                    int ny = y + CompiledBoard.DY[dir];
+                    if (!board.inBounds(nx, ny) || board.isHole(nx, ny)) hazards[board.index(x, y)]++;
+                }
+            }
+        }
+
+        return hazards;
+    }
+
+    /**
+     * Add the damage of a laser to each cell it reaches, until it hits one of the other robots
+     * @param x the x position of the first cell of the laser
+     * @param y the y position of the first cell of the laser
+     * @param dir the ordinal of the direction of the laser
+     * @param length the maximum number of cells the laser reaches
+     * @param damage the damage of the laser
+     * @param stopAtWalls true if the laser stops at walls, the beams of the board already have the right length
+     */
+    private void addBeam(int x, int y, int dir, int length, int damage, boolean stopAtWalls) {
+        for (int i = 0; i < length && board.inBounds(x, y); i++) {
+            int cell = board.index(x, y);
+            if (occupied[cell]) return;
+
+            laserDamage[cell] += damage;
+            if (stopAtWalls && board.isBlocked(x, y, Direction.fromOrdinal(dir))) return;
+
+            x += CompiledBoard.DX[dir];
+            y += CompiledBoard.DY[dir];
+        }
+    }
+
+    /**
+     * Get the effect of a card, cards with the same effect give the same program
+     * @param card the card
+     * @return the distance of a movement card, or ROTATION plus the clockwise turns of a rotation card
+     */
+    private static int effectOf(ProgramCard card) {
+        if (card.getType() == CardType.MOVEMENT) return ((MovementCard) card).getDistance();
+
+        RotationCard rotation = (RotationCard) card;
+        int turns = rotation.getRotations() % 4;
+        return ROTATION + (rotation.isClockwise() ? turns : (4 - turns) % 4);
+    }
+
+    /**
+     * Find the best program for the robot, searching on the calling thread
+     * @return the best program of 5 cards, or null if fewer than 5 cards were dealt
+     *         or the robot is not on the board
+     */
+    public ProgramCard[] plan() {
+        return plan(Long.MAX_VALUE);
+    }
+
+    /**
+     * Find the best program for the robot, searching on the calling thread until a deadline
+     * @param deadline the value of System.nanoTime() at which the search stops
+     * @return the best program of 5 cards, or null if fewer than 5 cards were dealt
+     *         or the robot is not on the board
+     */
+    public ProgramCard[] plan(long deadline) {
+        if (!canPlan()) return null;
+
+        Search search = new Search(deadline, TABLE_BITS, 1);
+        search.searchFrom(new int[0]);
+
+        return finish(search);
+    }
+
+    /**
+     * Find the best program for the robot starting with some chosen cards, searching on the calling thread until a deadline
+     * @param chosen the first cards of the program, in order, all from the hand
+     * @param deadline the value of System.nanoTime() at which the search stops
+     * @return the best program of 5 cards starting with the chosen cards, or null if fewer than 5 cards were dealt,
+     *         the robot is not on the board or the chosen cards are not in the hand
+     */
+    public ProgramCard[] plan(ProgramCard[] chosen, long deadline) {
+        if (!canPlan() || chosen.length > REGISTERS) return null;
+
+        int[] prefix = new int[chosen.length];
+        int used = 0;
+        for (int i = 0; i < chosen.length; i++) {
+            prefix[i] = hand.indexOf(chosen[i]);
+            if (prefix[i] < 0 || (used & (1 << prefix[i])) != 0) return null;
+            used |= 1 << prefix[i];
+        }
+
+        Search search = new Search(deadline, TABLE_BITS, 1);
+        search.searchFrom(prefix);
+
+        return finish(search);
+    }
+
+    /**
+     * Stop the plan running on another thread, which then returns the best program found so far.
+     * Like a deadline, the cancellation is noticed within a few hundred registers, and the following plans stop as early.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Limit the number of registers searched by the following plans, so the AI can be made weaker and faster.
+     * The programs are scored by the state after the searched registers.
+     * @param registers the number of registers to search, 1 to 5
+     */
+    public void setDepth(int registers) {
+        if (registers < 1 || registers > REGISTERS) {
+            throw new IllegalArgumentException("The depth must be between 1 and " + REGISTERS);
+        }
+        this.depth = registers;
+    }
+
+    /**
+     * Find the best programs for the robot, searching on the calling thread
+     * @param count the maximum number of programs
+     * @return the best programs, best first, or an empty list if fewer than 5 cards were dealt
+     *         or the robot is not on the board
+     */
+    public List<ProgramCard[]> planCandidates(int count) {
+        return planCandidates(count, Long.MAX_VALUE);
+    }
+
+    /**
+     * Find the best programs for the robot, searching on the calling thread until a deadline
+     * @param count the maximum number of programs
+     * @param deadline the value of System.nanoTime() at which the search stops
+     * @return the best programs found before the deadline, best first, or an empty list if fewer than 5 cards were dealt,
+     *         the robot is not on the board or no program was found in time
+     */
+    public List<ProgramCard[]> planCandidates(int count, long deadline) {
+        List<ProgramCard[]> programs = new ArrayList<>();
+        if (!canPlan()) return programs;
+
+        Search search = new Search(deadline, TABLE_BITS, count);
+        search.searchFrom(new int[0]);
+        finish(search);
+
+        for (int i = 0; i < search.kept; i++) programs.add(toProgram(search.keptOrders[i]));
+        return programs;
+    }
+
+    /**
+     * Find the best program for the robot, splitting the search into a task for each
+     * combination of the first two cards. The search stops at the deadline,
+     * returning the best program found so far.
+     * @param pool the pool to search in
+     * @param deadline the value of System.nanoTime() at which the search stops
+     * @return the best program of 5 cards, or null if fewer than 5 cards were dealt
+     *         or the robot is not on the board
+     */
+    public ProgramCard[] plan(ForkJoinPool pool, long deadline) {
+        if (!canPlan()) return null;
+
+        // the tasks start after two registers, a shallower search is too small to split anyway
+        if (depth < 2) return plan(deadline);
+
+        List<int[]> prefixes = new ArrayList<>();
+        int start = startState();
+        int tried = 0;
+        for (int first = 0; first < effects.length; first++) {
+            if ((tried & (1 << effects[first])) != 0) continue;
+            tried |= 1 << effects[first];
+
+            int next = step(start, effects[first]);
+            int triedNext = 0;
+            for (int second = 0; second < effects.length; second++) {
+                if (second == first || (triedNext & (1 << effects[second])) != 0) continue;
+                triedNext |= 1 << effects[second];
+
+                prefixes.add(new int[]{first, second});
+
+                // the second card doesn't matter once the robot is dead
+                if (next == DEAD) break;
+            }
+        }
+
+        return finish(pool.invoke(new SearchTask(prefixes, 0, prefixes.size(), deadline)));
+    }
+
+    private boolean canPlan() {
+        return hand.size() >= REGISTERS && board.inBounds(robot.getX(), robot.getY()) && robot.getDirection() != Direction.INVALID;
+    }
+
+    private int startState() {
+        return stateOf(robot);
+    }
+
+    /**
+     * Pack the state of a robot
+     * @param robot the robot, on the board this planner was created for
+     * @return the packed state, or DEAD if the robot is dead or not on the board
+     */
+    int stateOf(RobotState robot) {
+        if (robot.isDead() || !board.inBounds(robot.getX(), robot.getY()) || robot.getDirection() == Direction.INVALID) return DEAD;
+
+        return pack(board.index(robot.getX(), robot.getY()), robot.getDirection().ordinal(),
+                Math.min(robot.getDamageMarkers(), GameEngine.MAX_DAMAGE), Math.min(robot.getFlagsCollected(), GameEngine.FLAGS_TO_WIN));
+    }
+
+    private ProgramCard[] finish(Search search) {
+        bestScore = search.keptScores[0];
+        evaluated = search.evaluated;
+        timedOut = search.timedOut;
+        tableProbes = search.table.getProbes();
+        tableHits = search.table.getHits();
+
+        return toProgram(search.keptOrders[0]);
+    }
+
+    private ProgramCard[] toProgram(int[] order) {
+        ProgramCard[] program = new ProgramCard[REGISTERS];
+        for (int i = 0; i < REGISTERS; i++) program[i] = hand.get(order[i]);
+
+        return program;
+    }
+
+    /**
+     * Searches the programs starting with some of the prefixes, merging the best programs of two halves
+     */
+    private class SearchTask extends RecursiveTask<Search> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<int[]> prefixes;
+        private final int from;
+        private final int to;
+        private final long deadline;
+
+        SearchTask(List<int[]> prefixes, int from, int to, long deadline) {
+            this.prefixes = prefixes;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Search compute() {
+            if (to - from <= 1) {
+                Search search = new Search(deadline, TASK_TABLE_BITS, 1);
+                if (to > from) search.searchFrom(prefixes.get(from));
+                return search;
+            }
+
+            int mid = (from + to) >>> 1;
+            SearchTask left = new SearchTask(prefixes, from, mid, deadline);
+            left.fork();
+            Search right = new SearchTask(prefixes, mid, to, deadline).compute();
+            Search best = left.join();
+
+            // on equal scores the program found first by a serial search wins
+            best.merge(right);
+            return best;
+        }
+    }
+
+    /**
+     * The state of a depth-first search, each thread searching has its own
+     */
+    private class Search {
+
+        // states already searched, together with the cards left
+        private final TranspositionTable table;
+
+        private final int[] order = new int[REGISTERS];
+        private final int[] leafOrder = new int[REGISTERS];
+
+        // the best programs found, best first
+        private final int[][] keptOrders;
+        private final int[] keptScores;
+        private int kept;
+
+        private int evaluated;
+
+        private final long deadline;
+        private boolean timedOut;
+
+        Search(long deadline, int tableBits, int keep) {
+            this.deadline = deadline;
+            this.table = new TranspositionTable(tableBits);
+            this.keptOrders = new int[keep][REGISTERS];
+            this.keptScores = new int[keep];
+            Arrays.fill(keptScores, Integer.MIN_VALUE);
+        }
+
+        /**
+         * Search all programs starting with a prefix of cards
+         * @param prefix the indices of the first cards in the hand
+         */
+        void searchFrom(int[] prefix) {
+            int state = startState();
+            int used = 0;
+            long left = 0;
+            for (int effect : effects) left += handSlot(effect);
+
+            // the cards of the prefix stay in the program even if the robot dies before playing them
+            for (int i = 0; i < prefix.length; i++) {
+                order[i] = prefix[i];
+                used |= 1 << prefix[i];
+                left -= handSlot(effects[prefix[i]]);
+                if (state == DEAD) continue;
+
+                evaluated++;
+                state = step(state, effects[prefix[i]]);
+            }
+
+            search(state, Math.min(Integer.bitCount(used), REGISTERS), used, left);
+        }
+
+        /**
+         * Search all programs from a state
+         * @param state the packed state of the robot
+         * @param register the next register to program
+         * @param used bit i is set if card i of the hand has been programmed
+         * @param left the number of cards of each effect left in the hand, as packed by handSlot
+         */
+        private void search(int state, int register, int used, long left) {
+            if (register >= depth || state == DEAD) {
+                int score = score(state);
+                if (isKept(score)) {
+                    System.arraycopy(order, 0, leafOrder, 0, REGISTERS);
+
+                    // a dead or cut off prefix still needs a complete program, fill it with the first cards left
+                    for (int i = register, card = 0; i < REGISTERS; i++, card++) {
+                        while ((used & (1 << card)) != 0) card++;
+                        leafOrder[i] = card;
+                        used |= 1 << card;
+                    }
+                    keep(score, leafOrder);
+                }
+                return;
+            }
+
+            if (timedOut || table.visit(((long) state << HAND_BITS) | left, REGISTERS - register)) return;
+
+            int triedEffects = 0;
+            for (int card = 0; card < effects.length && !timedOut; card++) {
+                if ((used & (1 << card)) != 0) continue;
+
+                // a card with the same effect as a card already tried leads to the same states
+                int effectBit = 1 << effects[card];
+                if ((triedEffects & effectBit) != 0) continue;
+                triedEffects |= effectBit;
+
+                order[register] = card;
+                evaluated++;
+                search(step(state, effects[card]), register + 1, used | (1 << card), left - handSlot(effects[card]));
+
+                // checking the clock is slow compared to a step, so only check it now and then
+                if ((evaluated & 255) == 0 && (cancelled || System.nanoTime() - deadline > 0)) timedOut = true;
+            }
+        }
+
+        /**
+         * Check if a program with a score would be one of the best programs found.
+         * On equal scores the program found first is kept.
+         * @param score the score of the program
+         * @return true if it would be kept, false otherwise
+         */
+        private boolean isKept(int score) {
+            return kept < keptOrders.length || score > keptScores[kept - 1];
+        }
+
+        /**
+         * Insert a program among the best programs found, dropping the worst if there is no room
+         * @param score the score of the program
+         * @param program the indices of the cards of the program
+         */
+        private void keep(int score, int[] program) {
+            if (kept < keptOrders.length) kept++;
+
+            int i = kept - 1;
+            int[] slot = keptOrders[i];
+            while (i > 0 && keptScores[i - 1] < score) {
+                keptOrders[i] = keptOrders[i - 1];
+                keptScores[i] = keptScores[i - 1];
+                i--;
+            }
+
+            System.arraycopy(program, 0, slot, 0, REGISTERS);
+            keptOrders[i] = slot;
+            keptScores[i] = score;
+        }
+
+        /**
+         * Keep the best programs of this and another search
+         * @param other the other search, its programs come after the programs of this search
+         */
+        void merge(Search other) {
+            for (int i = 0; i < other.kept && isKept(other.keptScores[i]); i++) {
+                keep(other.keptScores[i], other.keptOrders[i]);
+            }
+            evaluated += other.evaluated;
+            timedOut |= other.timedOut;
+            table.addStatistics(other.table);
+        }
+    }
+
+    /**
+     * Get the value to add for a card with an effect to the packed count of cards of each effect
+     * @param effect the effect of the card
+     * @return one in the 4 bits counting the cards of the effect
+     */
+    private static long handSlot(int effect) {
+        return 1L << (4 * slotOf(effect));
+    }
+
+    private static int slotOf(int effect) {
+        return (effect < ROTATION) ? effect - 1 : MAX_MOVE + effect - ROTATION;
+    }
+
+    private static int effectOfSlot(int slot) {
+        return (slot < MAX_MOVE) ? slot + 1 : ROTATION + slot - MAX_MOVE;
+    }
+
+    /**
+     * Get the situation of the robot: its state and the effects of the cards in its hand, ignoring the other robots.
+     * Programs are stored in the ProgramCache by situation.
+     * @return the packed situation, or NO_SITUATION if no program can be planned
+     */
+    long situation() {
+        if (!canPlan()) return NO_SITUATION;
+
+        long left = 0;
+        for (int effect : effects) left += handSlot(effect);
+        return ((long) startState() << HAND_BITS) | left;
+    }
+
+    /**
+     * Pack a program of cards from the hand by the effects of the cards, so it can be used with any hand in the same situation
+     * @param program the program
+     * @return the packed program
+     */
+    static int encode(ProgramCard[] program) {
+        int packed = 0;
+        for (int i = 0; i < REGISTERS; i++) packed |= slotOf(effectOf(program[i])) << (i * SLOT_BITS);
+
+        return packed;
+    }
+
+    /**
+     * Unpack a program packed by encode, using the cards of the hand with the packed effects
+     * @param packed the packed program
+     * @return the program, or null if the hand doesn't hold the cards
+     */
+    ProgramCard[] decode(int packed) {
+        ProgramCard[] program = new ProgramCard[REGISTERS];
+        int used = 0;
+
+        for (int i = 0; i < REGISTERS; i++) {
+            int effect = effectOfSlot((packed >>> (i * SLOT_BITS)) & ((1 << SLOT_BITS) - 1));
+
+            int card = 0;
+            while (card < effects.length && ((used & (1 << card)) != 0 || effects[card] != effect)) card++;
+            if (card == effects.length) return null;
+
+            program[i] = hand.get(card);
+            used |= 1 << card;
+        }
+
+        return program;
+    }
+
+    /**
+     * Simulate a program from the current state of the robot, with the other robots where they are now
+     * @param program the program
+     * @return the score of the state the program ends in
+     */
+    int evaluate(ProgramCard[] program) {
+        int state = startState();
+        for (int i = 0; i < REGISTERS && state != DEAD; i++) state = step(state, effectOf(program[i]));
+
+        return score(state);
+    }
+
+    /**
+     * Simulate a register: a card followed by the board elements, as executed by the GameEngine
+     * @param state the packed state of the robot
+     * @param effect the effect of the card
+     * @return the packed state after the register, or DEAD if the robot is destroyed
+     */
+    int step(int state, int effect) {
+        int cell = cellOf(state);
+        int facing = facingOf(state);
+        int damage = damageOf(state);
+        int flags = flagsOf(state);
+
+        if (effect >= ROTATION) {
+            facing = (facing + effect - ROTATION) % 4;
+        } else {
+            int x = cell % board.getWidth();
+            int y = cell / board.getWidth();
+            Direction dir = Direction.fromOrdinal(facing);
+
+            for (int i = 0; i < effect; i++) {
+                if (board.isBlocked(x, y, dir)) {
+                    damage++;
+                    break;
+                }
+
+                int nx = x + CompiledBoard.DX[dir.ordinal()];
+                int ny = y + CompiledBoard.DY[dir.ordinal()];
+
+                // robots moving off the board are destroyed at the end of the phase
+                if (!board.inBounds(nx, ny)) return DEAD;
+                if (occupied[board.index(nx, ny)]) break;
+
+                x = nx;
+                y = ny;
+                if (board.isTurning(x, y)) facing = board.getConveyorDirection(x, y).ordinal();
+                if (board.isHole(x, y)) return DEAD;
+            }
+            cell = board.index(x, y);
+        }
+
+        int moved = TransitionTable.state(cell, facing);
+        moved = transition(express, moved);
+        moved = transition(conveyors, moved);
+        moved = transition(gears, moved);
+        if (moved == DEAD) return DEAD;
+
+        cell = TransitionTable.cell(moved);
+        facing = TransitionTable.facing(moved);
+
+        damage += laserDamage[cell];
+        if (damage >= GameEngine.MAX_DAMAGE) return DEAD;
+
+        if (board.getFlagNumber(cell % board.getWidth(), cell / board.getWidth()) == flags + 1) {
+            flags++;
+            damage = 0;
+        }
+
+        return pack(cell, facing, damage, Math.min(flags, GameEngine.FLAGS_TO_WIN));
+    }
+
+    private int transition(TransitionTable table, int state) {
+        if (state == DEAD) return DEAD;
+
+        int next = table.next(state);
+        if (next == TransitionTable.OFF_BOARD) return DEAD;
+
+        // the robot is not moved onto a robot standing still
+        int cell = TransitionTable.cell(next);
+        if (cell != TransitionTable.cell(state) && occupied[cell]) return state;
+
+        return board.isHole(cell % board.getWidth(), cell / board.getWidth()) ? DEAD : next;
+    }
+
+    /**
+     * Score the state of the robot at the end of a program, higher is better
+     * @param state the packed state
+     * @return the score
+     */
+    int score(int state) {
+        if (state == DEAD) return DEAD_SCORE;
+
+        int flags = flagsOf(state);
+        int score = flags * FLAG_SCORE - damageOf(state) * weights.getDamageCost();
+        if (hazards != null) score -= hazards[cellOf(state)] * weights.getHazardCost();
+
+        int flag = board.getFlagCell(flags + 1);
+        if (flag != CompiledBoard.NONE) {
+            int registers = distanceFields[flags].getDistance(TransitionTable.state(cellOf(state), facingOf(state)));
+            if (registers == DistanceField.UNREACHABLE) registers = UNREACHABLE_REGISTERS;
+
+            // the registers left to the flag, with the distance in tiles to tell states the same number of registers away apart
+            score -= registers * weights.getRegisterCost() + distance(cellOf(state), flag) * weights.getDistanceCost();
+        }
+
+        return score;
+    }
+
+    private int distance(int from, int to) {
+        int width = board.getWidth();
+        return Math.abs(from % width - to % width) + Math.abs(from / width - to / width);
+    }
+
+    static int pack(int cell, int facing, int damage, int flags) {
+        return (cell << CELL_SHIFT) | (flags << FLAGS_SHIFT) | (damage << DAMAGE_SHIFT) | facing;
+    }
+
+    static int cellOf(int state) {
+        return state >>> CELL_SHIFT;
+    }
+
+    static int facingOf(int state) {
+        return state & 3;
+    }
+
+    static int damageOf(int state) {
+        return (state >>> DAMAGE_SHIFT) & 15;
+    }
+
+    static int flagsOf(int state) {
+        return (state >>> FLAGS_SHIFT) & 7;
+    }
+
+    /**
+     * Get the number of register simulations done by the last plan
+     * @return the number of simulated registers
+     */
+    public int getEvaluated() {
+        return evaluated;
+    }
+
+    /**
+     * Get the score of the best program found by the last plan
+     * @return the score
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * Get the number of states the last plan looked up in its transposition tables
+     * @return the number of lookups
+     */
+    public long getTableProbes() {
+        return tableProbes;
+    }
+
+    /**
+     * Get the number of states the last plan found in its transposition tables, each skipping a subtree
+     * @return the number of hits
+     */
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    /**
+     * Check if the last plan was stopped by its deadline before all programs were searched
+     * @return true if the plan timed out, false otherwise
+     */
+    public boolean hasTimedOut() {
+        return timedOut;
+    }
+}
@@ -0,0 +1,74 @@
+package inf112.gunit.ai;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Creates strategies by name, used when choosing the AI from the menu or the command line
+ */
+public class Strategies {
+
+    // the hard AI with other weights than the default is named by the weights, such as "hard:1000:10:300:0"
+    private static final String WEIGHTED_HARD = "hard:";
+
+    private Strategies() {
+    }
+
+    /**
+     * Create a new instance of a strategy
+     * @param name the name of the strategy, "easy", "hard", "hard:" followed by EvaluationWeights, or "montecarlo"
+     * @return the strategy
+     * @throws IllegalArgumentException if there is no strategy with the name
+     */
+    public static Strategy create(String name) {
+        if (name.startsWith(WEIGHTED_HARD)) return new HardStrategy(weightsOf(name));
+
+        switch (name) {
+            case "easy":
+                return new EasyStrategy();
+            case "hard":
+                return new HardStrategy();
+            case "montecarlo":
+                return new MonteCarloStrategy();
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+
+    /**
+     * Create a new instance of a strategy which searches on a pool within a time budget,
+     * used when the AI has to answer within a frame
+     * @param name the name of the strategy, "easy", "hard", "hard:" followed by EvaluationWeights, or "montecarlo"
+     * @param pool the pool to search in
+     * @param budgetMillis the time after which the search stops
+     * @return the strategy
+     * @throws IllegalArgumentException if there is no strategy with the name
+     */
+    public static Strategy create(String name, ForkJoinPool pool, long budgetMillis) {
+        if (name.startsWith(WEIGHTED_HARD)) return new HardStrategy(pool, budgetMillis, null, weightsOf(name));
+
+        switch (name) {
+            case "hard":
+                return new HardStrategy(pool, budgetMillis);
+            case "montecarlo":
+                return new MonteCarloStrategy(Integer.MAX_VALUE, budgetMillis, MonteCarloStrategy.DEFAULT_CANDIDATES);
+            default:
+                return create(name);
+        }
+    }
+
+    /**
+     * Create a new instance of a strategy which uses the programs found before in the same situation,
+     * used by long-running bots playing many games on the same board
+     * @param name the name of the strategy, "easy", "hard", "hard:" followed by EvaluationWeights, or "montecarlo"
+     * @param cache the cache of programs, only used by "hard"
+     * @return the strategy
+     * @throws IllegalArgumentException if there is no strategy with the name
+     */
+    public static Strategy create(String name, ProgramCache cache) {
+        return "hard".equals(name) ? new HardStrategy(null, 0, cache) : create(name);
+    }
+
+    private static EvaluationWeights weightsOf(String name) {
+        return EvaluationWeights.parse(name.substring(WEIGHTED_HARD.length()));
+    }
+}
@@ -0,0 +1,21 @@
+package inf112.gunit.ai;
+
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.player.card.ProgramCard;
+
+/**
+ * A strategy for programming a robot, used by the AI players.
+ * A strategy may remember earlier rounds, so each robot needs its own instance.
+ */
+public interface Strategy {
+
+    /**
+     * Choose the program of a robot for the next round.
+     * The cards have already been dealt to the robot.
+     * @param engine the engine of the game
+     * @param robot the robot to program
+     * @return a program of 5 cards
+     */
+    ProgramCard[] program(GameEngine engine, RobotState robot);
+}
@@ -0,0 +1,99 @@
+package inf112.gunit.ai;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size table of the search states already searched, so identical subtrees are only searched once.
+ * Keys are packed 64-bit states, stored in buckets of two entries. When a bucket is full,
+ * the entry with the fewest registers left is replaced, as it saves the least work if it is hit again.
+ * The table never allocates after it has been created, and is not thread-safe.
+ */
+class TranspositionTable {
+
+    // marks a key as used, so an empty entry can be told apart from the key 0
+    private static final long USED = 1L << 63;
+
+    private final long[] keys;
+    private final byte[] depths;
+    private final int mask;
+
+    private long probes;
+    private long hits;
+    private long replacements;
+
+    /**
+     * The TranspositionTable constructor
+     * @param bits the table holds 2^bits entries
+     */
+    TranspositionTable(int bits) {
+        keys = new long[1 << bits];
+        depths = new byte[1 << bits];
+        mask = (1 << bits) - 2;
+    }
+
+    /**
+     * Remove all entries, keeping the statistics
+     */
+    void clear() {
+        Arrays.fill(keys, 0);
+    }
+
+    /**
+     * Look up a state, storing it if it isn't in the table
+     * @param key the packed state, the highest bit is not used
+     * @param depth the number of registers left to search from the state
+     * @return true if the state was already in the table, false otherwise
+     */
+    boolean visit(long key, int depth) {
+        long entry = key | USED;
+        int bucket = hash(key) & mask;
+        probes++;
+
+        if (keys[bucket] == entry || keys[bucket + 1] == entry) {
+            hits++;
+            return true;
+        }
+
+        int slot;
+        if (keys[bucket] == 0) {
+            slot = bucket;
+        } else if (keys[bucket + 1] == 0) {
+            slot = bucket + 1;
+        } else {
+            slot = (depths[bucket] < depths[bucket + 1]) ? bucket : bucket + 1;
+            replacements++;
+        }
+
+        keys[slot] = entry;
+        depths[slot] = (byte) depth;
+        return false;
+    }
+
+    private static int hash(long key) {
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (key ^ (key >>> 33));
+    }
+
+    /**
+     * Add the statistics of another table to this table
+     * @param other the other table
+     */
+    void addStatistics(TranspositionTable other) {
+        probes += other.probes;
+        hits += other.hits;
+        replacements += other.replacements;
+    }
+
+    long getProbes() {
+        return probes;
+    }
+
+    long getHits() {
+        return hits;
+    }
+
+    long getReplacements() {
+        return replacements;
+    }
+}
@@ -0,0 +1,140 @@
+package inf112.gunit.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+
+/**
+ * The registry of the textures and sounds shared by the screens, the hud and the robots.
+ *
+ * The sprites of the robots, cards, tokens, flags and buttons, and the logo, are packed into one atlas
+ * when it is first acquired, so they are uploaded once and drawn from the same texture.
+ * The sprite sheets are split into regions named by the sheet and the index of the frame, such as "robot" 2,
+ * the other images are named by their file, such as "damage_token_grey".
+ */
+public final class Assets {
+
+    // the sprite sheets, split into frames of the given size
+    public static final String ROBOT = "robot";
+    public static final String CARD = "card";
+    public static final String FLAG = "flag";
+
+    private static final String[][] SHEETS = {
+            {ROBOT, "assets/players_300x300.png", "300", "300"},
+            {CARD, "assets/hud/card_sprites.png", "75", "100"},
+            {FLAG, "assets/hud/flag_sprites.png", "300", "300"}
+    };
+
+    // the single images, named by their file. They are packed before the sheets, largest first,
+    // which leaves room for all the sprites on one page
+    private static final String[] IMAGES = {
+            "assets/hud/program_sheet_bg.png",
+            "assets/logo.png",
+            "assets/hud/damage_token.png",
+            "assets/hud/damage_token_grey.png",
+            "assets/hud/life_token.png",
+            "assets/hud/life_token_grey.png",
+            "assets/hud/power_down.png",
+            "assets/hud/power_down_grey.png",
+            "assets/hud/submit_green.png",
+            "assets/hud/submit_grey.png"
+    };
+
+    // the size of the page, the texture all sprites are packed on
+    private static final int PAGE_WIDTH = 2048;
+    private static final int PAGE_HEIGHT = 1024;
+
+    // the border around each sprite, copied from its edge so the scaled sprites don't bleed into each other
+    private static final int PADDING = 2;
+
+    /**
+     * The atlas of the sprites
+     */
+    public static final SharedAsset<TextureAtlas> SPRITES = new SharedAsset<TextureAtlas>() {
+        @Override
+        protected TextureAtlas load() {
+            return packSprites();
+        }
+    };
+
+    /**
+     * The skin of the menus, with its own atlas
+     */
+    public static final SharedAsset<Skin> SKIN = new SharedAsset<Skin>() {
+        @Override
+        protected Skin load() {
+            // the skin disposes its atlas
+            TextureAtlas atlas = new TextureAtlas("assets/clean-crispy/skin/clean-crispy-ui.atlas");
+            return new Skin(Gdx.files.internal("assets/clean-crispy/skin/clean-crispy-ui.json"), atlas);
+        }
+    };
+
+    /**
+     * The sound effects of the game
+     */
+    public static final SharedAsset<SoundBank> SOUNDS = new SharedAsset<SoundBank>() {
+        @Override
+        protected SoundBank load() {
+            return new SoundBank();
+        }
+    };
+
+    private Assets() {
+    }
+
+    /**
+     * Pack the sprites into a new atlas
+     * @return the atlas
+     */
+    static TextureAtlas packSprites() {
+        PixmapPacker packer = new PixmapPacker(PAGE_WIDTH, PAGE_HEIGHT, Pixmap.Format.RGBA8888, PADDING, true);
+
+        for (String path : IMAGES) {
+            Pixmap pixmap = new Pixmap(Gdx.files.internal(path));
+            packer.pack(nameOf(path), pixmap);
+            pixmap.dispose();
+        }
+
+        for (String[] sheet : SHEETS) {
+            Pixmap pixmap = new Pixmap(Gdx.files.internal(sheet[1]));
+            int frameWidth = Integer.parseInt(sheet[2]);
+            int frameHeight = Integer.parseInt(sheet[3]);
+            int columns = pixmap.getWidth() / frameWidth;
+            int rows = pixmap.getHeight() / frameHeight;
+
+            Pixmap frame = new Pixmap(frameWidth, frameHeight, Pixmap.Format.RGBA8888);
+            frame.setBlending(Pixmap.Blending.None);
+            for (int y = 0; y < rows; y++) {
+                for (int x = 0; x < columns; x++) {
+                    frame.drawPixmap(pixmap, 0, 0, x * frameWidth, y * frameHeight, frameWidth, frameHeight);
+                    // the packer copies the frame, so it can be reused
+                    packer.pack(sheet[0] + "_" + (y * columns + x), frame);
+                }
+            }
+            frame.dispose();
+            pixmap.dispose();
+        }
+
+        // the indexes of the frames are taken from the end of their names
+        TextureAtlas atlas = new TextureAtlas();
+        packer.updateTextureAtlas(atlas, Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest, false, true);
+        packer.dispose();
+
+        return atlas;
+    }
+
+    /**
+     * Get the name of the region of an image
+     * @param path the path of the image
+     * @return the file name without the extension
+     */
+    static String nameOf(String path) {
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+
+        return (dot < 0) ? name : name.substring(0, dot);
+    }
+}
@@ -0,0 +1,44 @@
+package inf112.gunit.assets;
+
+import inf112.gunit.engine.GameListener;
+import inf112.gunit.engine.RandomSource;
+import inf112.gunit.engine.RobotState;
+
+/**
+ * Plays the sound effects of a game as the GameEngine executes it
+ */
+public class GameSounds implements GameListener {
+
+    // a moving robot only sometimes skids
+    private static final int SLIDE_CHANCE = 50;
+
+    private final SoundBank sounds;
+
+    // used for cosmetic randomness, split off the engine so it doesn't change the game
+    private final RandomSource random;
+
+    /**
+     * The GameSounds constructor
+     * @param sounds the sound bank to play the clips of
+     * @param random the random source deciding when robots skid
+     */
+    public GameSounds(SoundBank sounds, RandomSource random) {
+        this.sounds = sounds;
+        this.random = random;
+    }
+
+    @Override
+    public void robotMoved(RobotState robot) {
+        if (random.nextInt(SLIDE_CHANCE) == SLIDE_CHANCE - 1) sounds.play(SoundBank.Clip.SLIDE, 1.0f);
+    }
+
+    @Override
+    public void robotDestroyed(RobotState robot) {
+        sounds.play(SoundBank.Clip.DAMAGE, 1.0f);
+    }
+
+    @Override
+    public void robotStatusChanged(RobotState robot) {
+        // damage has no sound of its own
+    }
+}
@@ -0,0 +1,63 @@
+package inf112.gunit.assets;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * An asset shared by everything that uses it, counting its users.
+ * It is loaded by the first acquire, and disposed when the last user releases it,
+ * so it is loaded once while it is in use, and not kept when nothing uses it.
+ * Assets are loaded and disposed on the render thread.
+ * @param <T> the type of the asset
+ */
+public abstract class SharedAsset<T extends Disposable> {
+
+    private T asset;
+    private int users;
+
+    /**
+     * Load the asset, called by the first acquire
+     * @return the loaded asset
+     */
+    protected abstract T load();
+
+    /**
+     * Get the asset, loading it if it has no users. Each acquire must be matched by a release
+     * @return the asset
+     */
+    public T acquire() {
+        if (users == 0) asset = load();
+        users++;
+
+        return asset;
+    }
+
+    /**
+     * Release the asset, disposing it if this was the last user
+     * @throws IllegalStateException if the asset has no users
+     */
+    public void release() {
+        if (users == 0) throw new IllegalStateException("Released an asset which has no users");
+
+        users--;
+        if (users == 0) {
+            asset.dispose();
+            asset = null;
+        }
+    }
+
+    /**
+     * Get the number of acquires which have not been released
+     * @return the number of users
+     */
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * Check if the asset is loaded
+     * @return true if the asset has users, false otherwise
+     */
+    public boolean isLoaded() {
+        return users > 0;
+    }
+}
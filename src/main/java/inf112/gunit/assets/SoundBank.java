@@ -0,0 +1,139 @@
+package inf112.gunit.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * The sound effects of the game, each clip loaded once and shared by all robots.
+ * Each clip can only be played by a few voices at the same time, a clip played while all its voices are
+ * still playing is skipped, so many robots moving at once don't pile up the same sound.
+ */
+public class SoundBank implements Disposable {
+
+    /**
+     * The clips of the game, with the number of voices that can play each clip at the same time
+     */
+    public enum Clip {
+        SLIDE("assets/sounds/skrrt.wav", 1),
+        DAMAGE("assets/sounds/ouf.wav", 2);
+
+        private final String path;
+        private final int voices;
+
+        Clip(String path, int voices) {
+            this.path = path;
+            this.voices = voices;
+        }
+
+        public int getVoices() {
+            return voices;
+        }
+    }
+
+    // the length of a voice if the length of the clip can't be read
+    private static final long DEFAULT_VOICE_MILLIS = 1000;
+
+    private final Sound[] sounds;
+    private final long[] lengths;
+
+    // the time each voice of each clip started playing, a voice is free once its clip has played to the end
+    private final long[][] voiceStarts;
+
+    /**
+     * The SoundBank constructor, loading all clips
+     */
+    public SoundBank() {
+        Clip[] clips = Clip.values();
+        sounds = new Sound[clips.length];
+        lengths = new long[clips.length];
+        voiceStarts = new long[clips.length][];
+
+        for (Clip clip : clips) {
+            FileHandle file = Gdx.files.internal(clip.path);
+            sounds[clip.ordinal()] = Gdx.audio.newSound(file);
+            lengths[clip.ordinal()] = lengthMillis(file.readBytes());
+            voiceStarts[clip.ordinal()] = new long[clip.voices];
+            for (int i = 0; i < clip.voices; i++) voiceStarts[clip.ordinal()][i] = Long.MIN_VALUE / 2;
+        }
+    }
+
+    /**
+     * Play a clip, unless all its voices are playing
+     * @param clip the clip
+     * @param volume the volume, between 0 and 1
+     * @return true if the clip was played, false if it was skipped
+     */
+    public boolean play(Clip clip, float volume) {
+        if (!claimVoice(clip, TimeUtils.millis())) return false;
+
+        sounds[clip.ordinal()].play(volume);
+        return true;
+    }
+
+    /**
+     * Claim a free voice of a clip
+     * @param clip the clip
+     * @param now the current time in milliseconds
+     * @return true if a voice was free, false otherwise
+     */
+    boolean claimVoice(Clip clip, long now) {
+        long[] starts = voiceStarts[clip.ordinal()];
+        for (int i = 0; i < starts.length; i++) {
+            if (now - starts[i] >= lengths[clip.ordinal()]) {
+                starts[i] = now;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Get the length of a clip
+     * @param clip the clip
+     * @return the length in milliseconds
+     */
+    public long getLengthMillis(Clip clip) {
+        return lengths[clip.ordinal()];
+    }
+
+    /**
+     * Read the length of a WAV file from its header
+     * @param wav the contents of the file
+     * @return the length in milliseconds, or DEFAULT_VOICE_MILLIS if the file isn't a WAV file
+     */
+    static long lengthMillis(byte[] wav) {
+        if (wav.length < 12 || !"RIFF".equals(new String(wav, 0, 4)) || !"WAVE".equals(new String(wav, 8, 4))) {
+            return DEFAULT_VOICE_MILLIS;
+        }
+
+        long byteRate = 0;
+        for (int chunk = 12; chunk + 8 <= wav.length; ) {
+            String id = new String(wav, chunk, 4);
+            long size = littleEndian(wav, chunk + 4);
+
+            if (id.equals("fmt ") && chunk + 20 <= wav.length) byteRate = littleEndian(wav, chunk + 16);
+            if (id.equals("data") && byteRate > 0) return size * 1000 / byteRate;
+
+            // chunks are padded to an even size
+            long next = chunk + 8 + size + (size & 1);
+            if (next > wav.length) break;
+            chunk = (int) next;
+        }
+
+        return DEFAULT_VOICE_MILLIS;
+    }
+
+    private static long littleEndian(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFFL) | (bytes[offset + 1] & 0xFFL) << 8
+                | (bytes[offset + 2] & 0xFFL) << 16 | (bytes[offset + 3] & 0xFFL) << 24;
+    }
+
+    @Override
+    public void dispose() {
+        for (Sound sound : sounds) sound.dispose();
+    }
+}
@@ -0,0 +1,487 @@
+package inf112.gunit.board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * A compiled, primitive representation of the static parts of a board.
+ * The map is walked once when the board is loaded, and every tile property
+ * the mechanics need is stored in flat arrays indexed by cell (x + y * width).
+ * Directions are stored as Direction ordinals, or NONE if the cell has no such element.
+ */
+public class CompiledBoard {
+
+    public static final byte NONE = -1;
+
+    // element kinds, a single cell may contain several of these
+    public static final int HOLE = 1;
+    public static final int CONVEYOR = 1 << 1;
+    public static final int EXPRESS = 1 << 2;
+    public static final int TURNING = 1 << 3;
+    public static final int GEAR = 1 << 4;
+    public static final int LASER = 1 << 5;
+    public static final int FLAG = 1 << 6;
+    public static final int WALL = 1 << 7;
+
+    // x- and y-offsets of a step in each direction, indexed by Direction ordinal
+    public static final int[] DX = {0, 1, 0, -1};
+    public static final int[] DY = {1, 0, -1, 0};
+
+    private final int width;
+    private final int height;
+
+    private final int[] kinds;
+    private final byte[] conveyorDir;
+    private final byte[] wallDir;
+    private final byte[] laserDir;
+    private final byte[] laserDamage;
+    private final byte[] gearRotation;
+    private final byte[] flagNum;
+
+    // blocked edges of each cell, bit (1 << ordinal) is set if the edge in that direction can't be crossed
+    private final byte[] edges;
+
+    // the beams of all laser emitters, in the order they were found
+    private final LaserBeam[] laserBeams;
+
+    // the start position of each robot, as cell indices
+    private final int[] startCells;
+
+    // the position of each flag, as cell indices, indexed by flag number - 1
+    private final int[] flagCells;
+
+    // where robots end up after the express conveyors, all conveyors and the gears have been executed
+    private final TransitionTable expressTransitions;
+    private final TransitionTable conveyorTransitions;
+    private final TransitionTable gearTransitions;
+
+    // the distance field of each flag, built the first time they are needed
+    private volatile DistanceField[] distanceFields;
+
+    /**
+     * Compile a board from the tiles of a map
+     * @param map the tiles of the map to compile
+     */
+    public CompiledBoard(TileSource map) {
+        this.width = map.getWidth();
+        this.height = map.getHeight();
+
+        int size = width * height;
+        kinds = new int[size];
+        conveyorDir = filled(size);
+        wallDir = filled(size);
+        laserDir = filled(size);
+        laserDamage = new byte[size];
+        gearRotation = new byte[size];
+        flagNum = new byte[size];
+        edges = new byte[size];
+
+        int lasers = 0;
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int i = index(x, y);
+
+                if (map.hasTile("holes", x, y)) kinds[i] |= HOLE;
+
+                if (map.hasTile("conveyors", x, y)) {
+                    kinds[i] |= CONVEYOR;
+                    if (getBoolean(map, "conveyors", x, y, "express")) kinds[i] |= EXPRESS;
+                    if (getBoolean(map, "conveyors", x, y, "rotation")) kinds[i] |= TURNING;
+                    conveyorDir[i] = getDirection(map, "conveyors", x, y);
+                }
+
+                if (map.hasTile("gears", x, y)) {
+                    kinds[i] |= GEAR;
+                    gearRotation[i] = (byte) (getBoolean(map, "gears", x, y, "clockwise") ? 1 : -1);
+                }
+
+                if (map.hasTile("walls", x, y)) {
+                    kinds[i] |= WALL;
+                    wallDir[i] = getDirection(map, "walls", x, y);
+                    blockEdge(x, y, wallDir[i]);
+                }
+
+                if (map.hasTile("lasers", x, y)) {
+                    kinds[i] |= LASER;
+                    laserDir[i] = getDirection(map, "lasers", x, y);
+                    laserDamage[i] = (byte) getInt(map, "lasers", x, y, "damage", 1);
+                    // a laser is mounted on the wall behind it
+                    if (laserDir[i] != NONE) {
+                        blockEdge(x, y, (laserDir[i] + 2) % 4);
+                        lasers++;
+                    }
+                }
+
+                if (map.hasTile("flags", x, y)) {
+                    kinds[i] |= FLAG;
+                    flagNum[i] = (byte) getInt(map, "flags", x, y, "num", 0);
+                }
+            }
+        }
+
+        // trace the beams once the edges are known
+        laserBeams = new LaserBeam[lasers];
+        for (int i = 0, n = 0; i < size; i++) {
+            if ((kinds[i] & LASER) != 0 && laserDir[i] != NONE) laserBeams[n++] = traceBeam(i % width, i / width);
+        }
+
+        startCells = findStartCells(map);
+        flagCells = findFlagCells();
+
+        expressTransitions = TransitionTable.conveyors(this, true);
+        conveyorTransitions = TransitionTable.conveyors(this, false);
+        gearTransitions = TransitionTable.gears(this);
+    }
+
+    /**
+     * Trace the beam of the laser at a given position, until it is stopped by a wall or the edge of the board
+     * @param x the x position of the laser
+     * @param y the y position of the laser
+     * @return the beam
+     */
+    private LaserBeam traceBeam(int x, int y) {
+        Direction dir = Direction.fromOrdinal(laserDir[index(x, y)]);
+        int length = 1;
+        int cx = x;
+        int cy = y;
+
+        while (!isBlocked(cx, cy, dir) && inBounds(cx + DX[dir.ordinal()], cy + DY[dir.ordinal()])) {
+            cx += DX[dir.ordinal()];
+            cy += DY[dir.ordinal()];
+            length++;
+        }
+
+        return new LaserBeam(x, y, dir, length, laserDamage[index(x, y)]);
+    }
+
+    /**
+     * Block an edge of a cell, and the matching edge of the neighbouring cell
+     * @param x the x position
+     * @param y the y position
+     * @param dir the ordinal of the edge to block
+     */
+    private void blockEdge(int x, int y, int dir) {
+        if (dir == NONE) return;
+
+        edges[index(x, y)] |= 1 << dir;
+
+        int nx = x + DX[dir];
+        int ny = y + DY[dir];
+        if (inBounds(nx, ny)) edges[index(nx, ny)] |= 1 << ((dir + 2) % 4);
+    }
+
+    private static byte[] filled(int size) {
+        byte[] arr = new byte[size];
+        Arrays.fill(arr, NONE);
+        return arr;
+    }
+
+    /**
+     * Find the start position of each robot, from the layers start_0, start_1 and so on
+     * @param map the tiles of the map
+     * @return the cell index of each start position, or NONE if a layer has no tile
+     */
+    private int[] findStartCells(TileSource map) {
+        ArrayList<Integer> cells = new ArrayList<>();
+
+        for (int id = 0; map.hasLayer("start_" + id); id++) {
+            int cell = NONE;
+            for (int i = 0; i < width * height && cell == NONE; i++) {
+                if (map.hasTile("start_" + id, i % width, i / width)) cell = i;
+            }
+            cells.add(cell);
+        }
+
+        int[] result = new int[cells.size()];
+        for (int i = 0; i < result.length; i++) result[i] = cells.get(i);
+        return result;
+    }
+
+    /**
+     * Find the position of each flag, numbered from 1 and up
+     * @return the cell index of each flag, NONE for numbers without a flag
+     */
+    private int[] findFlagCells() {
+        int count = 0;
+        for (byte num : flagNum) count = Math.max(count, num);
+
+        int[] cells = new int[count];
+        Arrays.fill(cells, NONE);
+        for (int i = 0; i < flagNum.length; i++) {
+            if (flagNum[i] > 0) cells[flagNum[i] - 1] = i;
+        }
+
+        return cells;
+    }
+
+    private static boolean getBoolean(TileSource map, String layer, int x, int y, String key) {
+        return Boolean.parseBoolean(map.getProperty(layer, x, y, key));
+    }
+
+    private static int getInt(TileSource map, String layer, int x, int y, String key, int defaultValue) {
+        String value = map.getProperty(layer, x, y, key);
+        if (value == null) return defaultValue;
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + key + " at (" + x + ", " + y + "): " + value);
+            return defaultValue;
+        }
+    }
+
+    private static byte getDirection(TileSource map, String layer, int x, int y) {
+        String value = map.getProperty(layer, x, y, "direction");
+        if (value == null) return NONE;
+
+        Direction dir = Direction.lookup(value);
+        return (dir == Direction.INVALID) ? NONE : (byte) dir.ordinal();
+    }
+
+    /**
+     * Check if a position is inside the board
+     * @param x the x position
+     * @param y the y position
+     * @return true if the position is on the board, false otherwise
+     */
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Get the cell index of a position. The position must be on the board.
+     * @param x the x position
+     * @param y the y position
+     * @return the cell index
+     */
+    public int index(int x, int y) {
+        return x + y * width;
+    }
+
+    /**
+     * Get the element kinds of a position as a bitmask of the kind constants
+     * @param x the x position
+     * @param y the y position
+     * @return the element kinds, 0 if the position is empty or outside the board
+     */
+    public int getKinds(int x, int y) {
+        return inBounds(x, y) ? kinds[index(x, y)] : 0;
+    }
+
+    /**
+     * Check if a position contains a given element kind
+     * @param x the x position
+     * @param y the y position
+     * @param kind one of the kind constants
+     * @return true if the position contains the element
+     */
+    public boolean is(int x, int y, int kind) {
+        return (getKinds(x, y) & kind) != 0;
+    }
+
+    public boolean isHole(int x, int y) {
+        return is(x, y, HOLE);
+    }
+
+    public boolean isConveyor(int x, int y) {
+        return is(x, y, CONVEYOR);
+    }
+
+    public boolean isExpress(int x, int y) {
+        return is(x, y, EXPRESS);
+    }
+
+    public boolean isTurning(int x, int y) {
+        return is(x, y, TURNING);
+    }
+
+    /**
+     * Get the blocked edges of a position
+     * @param x the x position
+     * @param y the y position
+     * @return a mask where bit (1 << ordinal) is set if the edge in that direction is blocked
+     */
+    public int getEdges(int x, int y) {
+        return inBounds(x, y) ? edges[index(x, y)] : 0;
+    }
+
+    /**
+     * Check if a wall blocks leaving a position in a given direction
+     * @param x the x position
+     * @param y the y position
+     * @param dir the direction of the move
+     * @return true if the edge is blocked by a wall or laser, false otherwise
+     */
+    public boolean isBlocked(int x, int y, Direction dir) {
+        return (getEdges(x, y) & (1 << dir.ordinal())) != 0;
+    }
+
+    /**
+     * Get the direction of the conveyor at a given position
+     * @return the direction, or null if there is no conveyor
+     */
+    public Direction getConveyorDirection(int x, int y) {
+        return inBounds(x, y) ? Direction.fromOrdinal(conveyorDir[index(x, y)]) : null;
+    }
+
+    /**
+     * Get which edge of the cell the wall at a given position is placed on
+     * @return the direction, or null if there is no wall
+     */
+    public Direction getWallDirection(int x, int y) {
+        return inBounds(x, y) ? Direction.fromOrdinal(wallDir[index(x, y)]) : null;
+    }
+
+    /**
+     * Get the direction the laser at a given position is firing
+     * @return the direction, or null if there is no laser
+     */
+    public Direction getLaserDirection(int x, int y) {
+        return inBounds(x, y) ? Direction.fromOrdinal(laserDir[index(x, y)]) : null;
+    }
+
+    /**
+     * Get the damage of the laser at a given position
+     * @return the damage, 0 if there is no laser
+     */
+    public int getLaserDamage(int x, int y) {
+        return inBounds(x, y) ? laserDamage[index(x, y)] : 0;
+    }
+
+    /**
+     * Get the rotation of the gear at a given position
+     * @return 1 if clockwise, -1 if counter-clockwise, 0 if there is no gear
+     */
+    public int getGearRotation(int x, int y) {
+        return inBounds(x, y) ? gearRotation[index(x, y)] : 0;
+    }
+
+    /**
+     * Get the number of the flag at a given position
+     * @return the flag number, 0 if there is no flag
+     */
+    public int getFlagNumber(int x, int y) {
+        return inBounds(x, y) ? flagNum[index(x, y)] : 0;
+    }
+
+    /**
+     * Get the beams of all the laser emitters on the board
+     * @return the laser beams
+     */
+    public LaserBeam[] getLaserBeams() {
+        return laserBeams;
+    }
+
+    /**
+     * Get the number of start positions on the board
+     * @return the number of start positions
+     */
+    public int getStartCount() {
+        return startCells.length;
+    }
+
+    /**
+     * Get the start position of a robot
+     * @param id the id of the robot
+     * @return the cell index of the start position, or NONE if the board has no start position for the robot
+     */
+    public int getStartCell(int id) {
+        return (id >= 0 && id < startCells.length) ? startCells[id] : NONE;
+    }
+
+    /**
+     * Get the number of the last flag on the board
+     * @return the number of flags
+     */
+    public int getFlagCount() {
+        return flagCells.length;
+    }
+
+    /**
+     * Get the position of a flag
+     * @param num the number of the flag, starting at 1
+     * @return the cell index of the flag, or NONE if the board has no such flag
+     */
+    public int getFlagCell(int num) {
+        return (num >= 1 && num <= flagCells.length) ? flagCells[num - 1] : NONE;
+    }
+
+    public TransitionTable getExpressTransitions() {
+        return expressTransitions;
+    }
+
+    public TransitionTable getConveyorTransitions() {
+        return conveyorTransitions;
+    }
+
+    public TransitionTable getGearTransitions() {
+        return gearTransitions;
+    }
+
+    /**
+     * Get the distance field of a flag, building the fields of all flags if they haven't been built yet.
+     * The fields are shared by everything using the board, on any thread.
+     * @param num the number of the flag, starting at 1
+     * @return the distance field, or null if the board has no such flag
+     */
+    public DistanceField getDistanceField(int num) {
+        DistanceField[] fields = getDistanceFields();
+        return (num >= 1 && num <= fields.length) ? fields[num - 1] : null;
+    }
+
+    DistanceField[] getDistanceFields() {
+        DistanceField[] fields = distanceFields;
+        if (fields == null) {
+            synchronized (this) {
+                fields = distanceFields;
+                if (fields == null) {
+                    fields = DistanceField.buildAll(this);
+                    distanceFields = fields;
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Use distance fields loaded from a file, instead of building them
+     * @param fields the field of each flag
+     */
+    synchronized void setDistanceFields(DistanceField[] fields) {
+        distanceFields = fields;
+    }
+
+    /**
+     * Checksum the layout of the board, used to tell if data stored for a board still belongs to it
+     * @return the fingerprint
+     */
+    public long getFingerprint() {
+        CRC32 crc = new CRC32();
+        update(crc, width);
+        update(crc, height);
+
+        for (int i = 0; i < width * height; i++) {
+            update(crc, kinds[i]);
+            update(crc, edges[i]);
+            update(crc, conveyorDir[i]);
+            update(crc, gearRotation[i]);
+            update(crc, flagNum[i]);
+        }
+
+        return crc.getValue();
+    }
+
+    private static void update(CRC32 crc, int value) {
+        for (int shift = 24; shift >= 0; shift -= 8) crc.update(value >>> shift);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -10,6 +10,8 @@ public enum Direction {
     WEST,
     INVALID;
 
+    private static final Direction[] VALUES = values();
+
     /**
      * Safe way of getting the direction from a string
      *
@@ -25,6 +27,16 @@ public enum Direction {
         }
     }
 
+    /**
+     * Get the direction corresponding to an ordinal, as stored in the compiled board
+     *
+     * @param ordinal the ordinal of the direction
+     * @return the direction, or null if the ordinal is negative
+     */
+    public static Direction fromOrdinal(int ordinal) {
+        return (ordinal < 0) ? null : VALUES[ordinal];
+    }
+
     /**
      * Calculate degrees corresponding to a given Direction
      * @param dir the Direction to calcualte
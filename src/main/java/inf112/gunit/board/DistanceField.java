@@ -0,0 +1,146 @@
+package inf112.gunit.board;
+
+import java.util.Arrays;
+
+/**
+ * The minimum number of registers a robot needs to reach a flag, from every state of the board.
+ * A state is a cell and the direction the robot is facing, packed as in TransitionTable.
+ * A register is one program card followed by the conveyors and gears, as executed by the GameEngine,
+ * with no other robots on the board. Robots falling into holes or off the board never reach the flag.
+ * The fields are found with a breadth-first search backwards from the flag, and are immutable once built.
+ */
+public class DistanceField {
+
+    public static final int UNREACHABLE = -1;
+
+    // the program cards a robot can be dealt: moving 1-3 tiles, and turning 1-3 quarters clockwise
+    private static final int ACTIONS = 6;
+    private static final int MOVES = 3;
+
+    private static final int DEAD = -1;
+
+    private final short[] distances;
+
+    DistanceField(short[] distances) {
+        this.distances = distances;
+    }
+
+    /**
+     * Get the distance to the flag from a state
+     * @param state the state, as packed by TransitionTable.state
+     * @return the minimum number of registers to the flag, or UNREACHABLE
+     */
+    public int getDistance(int state) {
+        return distances[state];
+    }
+
+    short[] getDistances() {
+        return distances;
+    }
+
+    /**
+     * Build the distance field of every flag on a board
+     * @param board the compiled board
+     * @return the field of each flag, indexed by flag number - 1, null for numbers without a flag
+     */
+    static DistanceField[] buildAll(CompiledBoard board) {
+        int states = board.getWidth() * board.getHeight() * 4;
+
+        // the predecessors of each state, stored as one array sliced by the offsets
+        int[] next = new int[states * ACTIONS];
+        int[] offsets = new int[states + 1];
+        for (int state = 0; state < states; state++) {
+            for (int action = 0; action < ACTIONS; action++) {
+                int to = step(board, state, action);
+                next[state * ACTIONS + action] = to;
+                if (to != DEAD) offsets[to + 1]++;
+            }
+        }
+        for (int i = 0; i < states; i++) offsets[i + 1] += offsets[i];
+
+        int[] predecessors = new int[offsets[states]];
+        int[] fill = Arrays.copyOf(offsets, states);
+        for (int i = 0; i < next.length; i++) {
+            if (next[i] != DEAD) predecessors[fill[next[i]]++] = i / ACTIONS;
+        }
+
+        DistanceField[] fields = new DistanceField[board.getFlagCount()];
+        int[] queue = new int[states];
+        for (int num = 1; num <= fields.length; num++) {
+            int flag = board.getFlagCell(num);
+            if (flag == CompiledBoard.NONE) continue;
+
+            short[] distances = new short[states];
+            Arrays.fill(distances, (short) UNREACHABLE);
+
+            int head = 0;
+            int tail = 0;
+            for (int facing = 0; facing < 4; facing++) {
+                int state = TransitionTable.state(flag, facing);
+                distances[state] = 0;
+                queue[tail++] = state;
+            }
+
+            while (head < tail) {
+                int state = queue[head++];
+                int distance = Math.min(distances[state] + 1, Short.MAX_VALUE);
+
+                for (int i = offsets[state]; i < offsets[state + 1]; i++) {
+                    int from = predecessors[i];
+                    if (distances[from] == UNREACHABLE) {
+                        distances[from] = (short) distance;
+                        queue[tail++] = from;
+                    }
+                }
+            }
+
+            fields[num - 1] = new DistanceField(distances);
+        }
+
+        return fields;
+    }
+
+    /**
+     * Simulate a register with no other robots on the board
+     * @param board the compiled board
+     * @param state the state of the robot
+     * @param action moving action + 1 tiles, or turning action - 2 quarters clockwise
+     * @return the state after the register, or DEAD if the robot is destroyed
+     */
+    private static int step(CompiledBoard board, int state, int action) {
+        int cell = TransitionTable.cell(state);
+        int facing = TransitionTable.facing(state);
+        int x = cell % board.getWidth();
+        int y = cell / board.getWidth();
+
+        if (board.isHole(x, y)) return DEAD;
+
+        if (action >= MOVES) {
+            facing = (facing + action - MOVES + 1) % 4;
+        } else {
+            Direction dir = Direction.fromOrdinal(facing);
+            for (int i = 0; i <= action && !board.isBlocked(x, y, dir); i++) {
+                x += CompiledBoard.DX[dir.ordinal()];
+                y += CompiledBoard.DY[dir.ordinal()];
+
+                if (!board.inBounds(x, y) || board.isHole(x, y)) return DEAD;
+                if (board.isTurning(x, y)) facing = board.getConveyorDirection(x, y).ordinal();
+            }
+        }
+
+        int moved = TransitionTable.state(board.index(x, y), facing);
+        moved = transition(board, board.getExpressTransitions(), moved);
+        moved = transition(board, board.getConveyorTransitions(), moved);
+        return transition(board, board.getGearTransitions(), moved);
+    }
+
+    private static int transition(CompiledBoard board, TransitionTable table, int state) {
+        if (state == DEAD) return DEAD;
+
+        int next = table.next(state);
+        if (next == TransitionTable.OFF_BOARD) return DEAD;
+
+        int cell = TransitionTable.cell(next);
+        return board.isHole(cell % board.getWidth(), cell / board.getWidth()) ? DEAD : next;
+    }
+}
@@ -0,0 +1,108 @@
+package inf112.gunit.board;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Stores the distance fields of a board in a file next to its map, so they are only built once.
+ * The file holds a fingerprint of the compiled board, and is ignored if the board has changed since.
+ */
+public class DistanceFieldCache {
+
+    private static final int MAGIC = 0x52524446; // "RRDF"
+    private static final int VERSION = 1;
+
+    private DistanceFieldCache() {
+    }
+
+    /**
+     * Get the file the distance fields of a map are stored in
+     * @param mapPath the path of the .tmx-file
+     * @return the .dist-file next to the map
+     */
+    public static File fileFor(String mapPath) {
+        return new File(mapPath.endsWith(".tmx") ? mapPath.substring(0, mapPath.length() - 4) + ".dist" : mapPath + ".dist");
+    }
+
+    /**
+     * Load the distance fields of a board from a file, or build and store them if the file is missing or outdated.
+     * Failing to write the file is reported, but the built fields are still used.
+     * @param board the compiled board
+     * @param file the file to load from and store in
+     * @return true if the fields were loaded from the file, false if they were built
+     */
+    public static boolean loadOrBuild(CompiledBoard board, File file) {
+        if (file.exists()) {
+            try {
+                if (load(board, file)) return true;
+            } catch (IOException e) {
+                System.err.println("Could not read distance fields from " + file + ": " + e.getMessage());
+            }
+        }
+
+        try {
+            save(board, file);
+        } catch (IOException e) {
+            System.err.println("Could not write distance fields to " + file + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Load the distance fields of a board from a file
+     * @param board the compiled board
+     * @param file the file
+     * @return true if the fields were loaded, false if the file belongs to another version of the board
+     * @throws IOException if the file can't be read
+     */
+    public static boolean load(CompiledBoard board, File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != board.getFingerprint()) return false;
+
+            int states = board.getWidth() * board.getHeight() * 4;
+            DistanceField[] fields = new DistanceField[in.readInt()];
+            if (fields.length != board.getFlagCount()) return false;
+
+            for (int i = 0; i < fields.length; i++) {
+                if (!in.readBoolean()) continue;
+
+                short[] distances = new short[states];
+                for (int state = 0; state < states; state++) distances[state] = in.readShort();
+                fields[i] = new DistanceField(distances);
+            }
+
+            board.setDistanceFields(fields);
+            return true;
+        }
+    }
+
+    /**
+     * Store the distance fields of a board in a file, building them if they haven't been built yet
+     * @param board the compiled board
+     * @param file the file
+     * @throws IOException if the file can't be written
+     */
+    public static void save(CompiledBoard board, File file) throws IOException {
+        DistanceField[] fields = board.getDistanceFields();
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(board.getFingerprint());
+            out.writeInt(fields.length);
+
+            for (DistanceField field : fields) {
+                out.writeBoolean(field != null);
+                if (field == null) continue;
+
+                for (short distance : field.getDistances()) out.writeShort(distance);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package inf112.gunit.board;
+
+/**
+ * A static laser beam on the board, going from a laser emitter
+ * in the emitters direction until it is stopped by a wall or the edge of the board
+ */
+public class LaserBeam {
+
+    private final int startX;
+    private final int startY;
+    private final Direction direction;
+    private final int length;
+    private final int damage;
+
+    /**
+     * The LaserBeam constructor
+     * @param startX the x position of the emitter
+     * @param startY the y position of the emitter
+     * @param direction the direction of the beam
+     * @param length number of cells the beam covers, including the emitters cell
+     * @param damage the damage dealt to a robot hit by the beam
+     */
+    public LaserBeam(int startX, int startY, Direction direction, int length, int damage) {
+        this.startX = startX;
+        this.startY = startY;
+        this.direction = direction;
+        this.length = length;
+        this.damage = damage;
+    }
+
+    /**
+     * Get the distance along the beam to a given position
+     * @param x the x position
+     * @param y the y position
+     * @return the number of cells from the emitter, or -1 if the position is not covered by the beam
+     */
+    public int distanceTo(int x, int y) {
+        int dx = CompiledBoard.DX[direction.ordinal()];
+        int dy = CompiledBoard.DY[direction.ordinal()];
+        int dist = (x - startX) * dx + (y - startY) * dy;
+
+        // the position must be on the line of the beam, and within its length
+        if (x != startX + dist * dx || y != startY + dist * dy) return -1;
+        return (dist >= 0 && dist < length) ? dist : -1;
+    }
+
+    public int getStartX() {
+        return startX;
+    }
+
+    public int getStartY() {
+        return startY;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getDamage() {
+        return damage;
+    }
+}
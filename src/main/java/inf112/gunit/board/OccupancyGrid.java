@@ -0,0 +1,120 @@
+package inf112.gunit.board;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of which robots are standing on which cells of the board,
+ * so that the robot at a given position can be found in constant time.
+ * Robots are identified by their id. Robots outside of the board are not tracked.
+ * Several robots may share a cell, they are then linked together in order of id.
+ */
+public class OccupancyGrid {
+
+    public static final int EMPTY = -1;
+
+    private final int width;
+    private final int height;
+
+    // the robot with the lowest id on each cell
+    private final int[] head;
+    // the next robot on the same cell as a given robot
+    private final int[] next;
+    // the cell of each robot
+    private final int[] cellOf;
+
+    /**
+     * The OccupancyGrid constructor
+     * @param width the width of the board
+     * @param height the height of the board
+     * @param numOfRobots number of robots to keep track of
+     */
+    public OccupancyGrid(int width, int height, int numOfRobots) {
+        this.width = width;
+        this.height = height;
+        this.head = new int[width * height];
+        this.next = new int[numOfRobots];
+        this.cellOf = new int[numOfRobots];
+
+        Arrays.fill(head, EMPTY);
+        Arrays.fill(next, EMPTY);
+        Arrays.fill(cellOf, EMPTY);
+    }
+
+    /**
+     * Update the position of a robot
+     * @param id the id of the robot
+     * @param x the new x position
+     * @param y the new y position
+     */
+    public void place(int id, int x, int y) {
+        int cell = (x >= 0 && x < width && y >= 0 && y < height) ? x + y * width : EMPTY;
+        if (cell == cellOf[id]) return;
+
+        remove(id);
+        if (cell == EMPTY) return;
+
+        // insert the robot into the cell, keeping the robots ordered by id
+        int prev = EMPTY;
+        int cur = head[cell];
+        while (cur != EMPTY && cur < id) {
+            prev = cur;
+            cur = next[cur];
+        }
+
+        next[id] = cur;
+        if (prev == EMPTY) head[cell] = id;
+        else next[prev] = id;
+
+        cellOf[id] = cell;
+    }
+
+    /**
+     * Remove a robot from the board
+     * @param id the id of the robot
+     */
+    public void remove(int id) {
+        int cell = cellOf[id];
+        if (cell == EMPTY) return;
+
+        if (head[cell] == id) {
+            head[cell] = next[id];
+        } else {
+            int cur = head[cell];
+            while (next[cur] != id) cur = next[cur];
+            next[cur] = next[id];
+        }
+
+        next[id] = EMPTY;
+        cellOf[id] = EMPTY;
+    }
+
+    /**
+     * Get the robot standing on a given position
+     * @param x the x position
+     * @param y the y position
+     * @return the id of the robot with the lowest id on the position, or EMPTY
+     */
+    public int robotAt(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return EMPTY;
+        return head[x + y * width];
+    }
+
+    /**
+     * Get the next robot standing on the same position as a given robot
+     * @param id the id of the robot
+     * @return the id of the next robot, or EMPTY
+     */
+    public int nextAt(int id) {
+        return next[id];
+    }
+
+    /**
+     * Check if any robot is standing on a given position
+     * @param x the x position
+     * @param y the y position
+     * @return true if the position is occupied, false otherwise
+     */
+    public boolean isOccupied(int x, int y) {
+        return robotAt(x, y) != EMPTY;
+    }
+}
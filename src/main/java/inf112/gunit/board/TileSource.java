@@ -0,0 +1,46 @@
+package inf112.gunit.board;
+
+/**
+ * The tiles of a board, as read from a map.
+ * Used when compiling a board, so that the compiled board does not depend on how the map was loaded.
+ */
+public interface TileSource {
+
+    /**
+     * Get the width of the map
+     * @return the width in tiles
+     */
+    int getWidth();
+
+    /**
+     * Get the height of the map
+     * @return the height in tiles
+     */
+    int getHeight();
+
+    /**
+     * Check if the map has a layer with a given name
+     * @param layer the name of the layer
+     * @return true if the layer exists, false otherwise
+     */
+    boolean hasLayer(String layer);
+
+    /**
+     * Check if a layer has a tile at a given position
+     * @param layer the name of the layer
+     * @param x the x position
+     * @param y the y position
+     * @return true if there is a tile, false if there is no tile or no such layer
+     */
+    boolean hasTile(String layer, int x, int y);
+
+    /**
+     * Get a property of the tile at a given position
+     * @param layer the name of the layer
+     * @param x the x position
+     * @param y the y position
+     * @param key the name of the property
+     * @return the value of the property, or null if there is no such tile or property
+     */
+    String getProperty(String layer, int x, int y, String key);
+}
@@ -0,0 +1,54 @@
+package inf112.gunit.board;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+
+/**
+ * A TileSource reading the tiles of a loaded TiledMap
+ */
+public class TiledMapSource implements TileSource {
+
+    private final TiledMap map;
+
+    /**
+     * The TiledMapSource constructor
+     * @param map the loaded map
+     */
+    public TiledMapSource(TiledMap map) {
+        this.map = map;
+    }
+
+    private TiledMapTileLayer.Cell getCell(String layerName, int x, int y) {
+        TiledMapTileLayer layer = (TiledMapTileLayer) map.getLayers().get(layerName);
+        return (layer == null) ? null : layer.getCell(x, y);
+    }
+
+    @Override
+    public int getWidth() {
+        return map.getProperties().get("width", Integer.class);
+    }
+
+    @Override
+    public int getHeight() {
+        return map.getProperties().get("height", Integer.class);
+    }
+
+    @Override
+    public boolean hasLayer(String layer) {
+        return map.getLayers().get(layer) != null;
+    }
+
+    @Override
+    public boolean hasTile(String layer, int x, int y) {
+        return getCell(layer, x, y) != null;
+    }
+
+    @Override
+    public String getProperty(String layer, int x, int y, String key) {
+        TiledMapTileLayer.Cell cell = getCell(layer, x, y);
+        if (cell == null) return null;
+
+        Object value = cell.getTile().getProperties().get(key);
+        return (value == null) ? null : value.toString();
+    }
+}
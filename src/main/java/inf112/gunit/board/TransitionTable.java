@@ -0,0 +1,110 @@
+package inf112.gunit.board;
+
+/**
+ * A precomputed table mapping the state of a robot, its cell and the direction it is facing,
+ * to the state it ends up in after a board element has been executed.
+ * States are packed as cell * 4 + Direction ordinal, with cell = x + y * width.
+ */
+public class TransitionTable {
+
+    // the robot is moved off the board, in the direction of the conveyor it was standing on
+    public static final int OFF_BOARD = -1;
+
+    private final int[] next;
+
+    private TransitionTable(int[] next) {
+        this.next = next;
+    }
+
+    /**
+     * Build the table for one step of the conveyors on a board
+     * @param board the compiled board
+     * @param expressOnly true if only express conveyors should move robots
+     * @return the conveyor transition table
+     */
+    public static TransitionTable conveyors(CompiledBoard board, boolean expressOnly) {
+        int[] next = identity(board);
+        int kind = expressOnly ? CompiledBoard.EXPRESS : CompiledBoard.CONVEYOR;
+
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                Direction convDir = board.getConveyorDirection(x, y);
+                if (!board.is(x, y, kind) || convDir == null) continue;
+
+                int nx = x + CompiledBoard.DX[convDir.ordinal()];
+                int ny = y + CompiledBoard.DY[convDir.ordinal()];
+
+                for (int facing = 0; facing < 4; facing++) {
+                    int state = state(board.index(x, y), facing);
+
+                    if (board.isBlocked(x, y, convDir)) {
+                        next[state] = state;
+                    } else if (!board.inBounds(nx, ny)) {
+                        next[state] = OFF_BOARD;
+                    } else {
+                        // a turning conveyor turns the robot in its direction
+                        int newFacing = board.isTurning(nx, ny) ? board.getConveyorDirection(nx, ny).ordinal() : facing;
+                        next[state] = state(board.index(nx, ny), newFacing);
+                    }
+                }
+            }
+        }
+
+        return new TransitionTable(next);
+    }
+
+    /**
+     * Build the table for one rotation of the gears on a board
+     * @param board the compiled board
+     * @return the gear transition table
+     */
+    public static TransitionTable gears(CompiledBoard board) {
+        int[] next = identity(board);
+
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                int rotation = board.getGearRotation(x, y);
+                if (rotation == 0) continue;
+
+                for (int facing = 0; facing < 4; facing++) {
+                    next[state(board.index(x, y), facing)] = state(board.index(x, y), (facing + rotation + 4) % 4);
+                }
+            }
+        }
+
+        return new TransitionTable(next);
+    }
+
+    private static int[] identity(CompiledBoard board) {
+        int[] next = new int[board.getWidth() * board.getHeight() * 4];
+        for (int i = 0; i < next.length; i++) next[i] = i;
+        return next;
+    }
+
+    /**
+     * Get the state a robot ends up in
+     * @param state the current state of the robot
+     * @return the new state, or OFF_BOARD
+     */
+    public int next(int state) {
+        return next[state];
+    }
+
+    /**
+     * Pack a cell and a facing into a state
+     * @param cell the cell index
+     * @param facing the Direction ordinal
+     * @return the packed state
+     */
+    public static int state(int cell, int facing) {
+        return cell * 4 + facing;
+    }
+
+    public static int cell(int state) {
+        return state >> 2;
+    }
+
+    public static int facing(int state) {
+        return state & 3;
+    }
+}
@@ -0,0 +1,693 @@
+package inf112.gunit.engine;
+
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.board.Direction;
+import inf112.gunit.board.LaserBeam;
+import inf112.gunit.board.OccupancyGrid;
+import inf112.gunit.board.TransitionTable;
+import inf112.gunit.player.card.MovementCard;
+import inf112.gunit.player.card.ProgramCard;
+import inf112.gunit.player.card.RotationCard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * The GameEngine executes the rules of the game: program cards, board elements,
+ * damage, flags and rounds. It has no dependency on libGDX, so games can be
+ * simulated without a GL context. The Game screen and the Robot sprites are views over it.
+ */
+public class GameEngine {
+
+    public static final int PHASES = 5;
+    public static final int FLAGS_TO_WIN = 4;
+    public static final int MAX_DAMAGE = 10;
+    public static final int MAX_CARDS = 9;
+
+    private static final int NOT_MOVED = -2;
+
+    private final CompiledBoard board;
+    private final OccupancyGrid occupancy;
+    private final RobotState[] robots;
+
+    private final RandomSource random;
+
+    // the first robot to collect all flags, null if no robot has won yet
+    private RobotState winner;
+
+    // target states of the robots, reused between each execution of a board element
+    private final int[] targets;
+    private final boolean[] conflicts;
+
+    // the cards of the current phase and the robots that programmed them, reused between phases
+    private final ProgramCard[] phaseCards;
+    private final RobotState[] phaseOwners;
+
+    // notified of moves and destructions, simulations have none
+    private final ArrayList<GameListener> listeners = new ArrayList<>();
+
+    /**
+     * The GameEngine constructor, placing each robot at its start position
+     * @param board the compiled board to play on, may be shared between several engines
+     * @param numOfRobots number of robots
+     * @param seed the seed of the game, the same seed and the same programs always give the same game
+     */
+    public GameEngine(CompiledBoard board, int numOfRobots, long seed) {
+        if (numOfRobots > board.getStartCount()) {
+            throw new IllegalArgumentException("The board only has " + board.getStartCount() + " start positions");
+        }
+
+        this.board = board;
+        this.occupancy = new OccupancyGrid(board.getWidth(), board.getHeight(), numOfRobots);
+        this.robots = new RobotState[numOfRobots];
+        this.random = new RandomSource(seed);
+        this.targets = new int[numOfRobots];
+        this.conflicts = new boolean[numOfRobots];
+        this.phaseCards = new ProgramCard[numOfRobots];
+        this.phaseOwners = new RobotState[numOfRobots];
+
+        for (int i = 0; i < numOfRobots; i++) {
+            int cell = board.getStartCell(i);
+            if (cell == CompiledBoard.NONE) throw new IllegalArgumentException("The board has no start position for robot " + i);
+
+            robots[i] = new RobotState(i, cell % board.getWidth(), cell / board.getWidth(), random.split());
+            occupancy.place(i, robots[i].getX(), robots[i].getY());
+        }
+    }
+
+    /**
+     * Play a round with the programs already set on the robots.
+     * Each phase executes the program cards in order of priority, followed by the board elements.
+     */
+    public void playRound() {
+        for (int phase = 0; phase < PHASES && winner == null; phase++) {
+            executePhase(phase);
+            executeBoardElements();
+        }
+    }
+
+    /**
+     * Start a new round, powering robots down or up according to their wishes.
+     * Powering down repairs a robot, which changes its status
+     */
+    public void startRound() {
+        for (RobotState robot : robots) {
+            if (robot.isPoweredDown()) {
+                setPoweredDown(robot, false);
+                if (robot.getPowerDownDesire()) robot.updatePowerDownDesire();
+            }
+            if (robot.getPowerDownDesire()) setPoweredDown(robot, true);
+        }
+    }
+
+    /**
+     * Start a phase, allowing all robots to fire again
+     * @param phase the phase to start
+     * @return the program cards of the phase, sorted by descending priority
+     */
+    public ArrayList<ProgramCard> startPhase(int phase) {
+        ArrayList<ProgramCard> cards = new ArrayList<>();
+
+        for (RobotState robot : robots) {
+            if (robot.getProgram() != null && robot.getProgram()[phase] != null) cards.add(robot.getProgram()[phase]);
+            robot.setHasFired(false);
+            robot.setHasSearched(false);
+        }
+
+        Collections.sort(cards);
+        Collections.reverse(cards);
+
+        return cards;
+    }
+
+    /**
+     * Get the robot which programmed a given card in a given phase
+     * @param card the program card
+     * @param phase the phase
+     * @return the robot, or null if no robot programmed the card
+     */
+    public RobotState ownerOf(ProgramCard card, int phase) {
+        for (RobotState robot : robots) {
+            if (robot.getProgram() != null && robot.getProgram()[phase] == card) return robot;
+        }
+        return null;
+    }
+
+    /**
+     * Execute the program cards of all robots in a phase, in order of priority.
+     * Does the same as startPhase followed by doTurn for each card, without allocating.
+     * @param phase the phase to execute
+     */
+    public void executePhase(int phase) {
+        int n = 0;
+
+        // taking the robots in reverse order gives cards of equal priority the same order as startPhase
+        for (int i = robots.length - 1; i >= 0; i--) {
+            RobotState robot = robots[i];
+            robot.setHasFired(false);
+            robot.setHasSearched(false);
+
+            if (robot.getProgram() == null || robot.getProgram()[phase] == null) continue;
+
+            // insertion sort by descending priority, keeping the order of equal priorities
+            ProgramCard card = robot.getProgram()[phase];
+            int j = n++;
+            while (j > 0 && phaseCards[j - 1].getPriority() < card.getPriority()) {
+                phaseCards[j] = phaseCards[j - 1];
+                phaseOwners[j] = phaseOwners[j - 1];
+                j--;
+            }
+            phaseCards[j] = card;
+            phaseOwners[j] = robot;
+        }
+
+        for (int i = 0; i < n; i++) doTurn(phaseOwners[i], phaseCards[i]);
+    }
+
+    /**
+     * Execute all board elements, in the order they are executed at the end of each phase
+     */
+    public void executeBoardElements() {
+        outOfMapTrigger();
+        conveyExpress();
+        conveyRegular();
+        rotateGears();
+        holes();
+        lasersFire();
+        robotsFire();
+
+        for (RobotState robot : robots) {
+            if (robot.getDamageMarkers() >= MAX_DAMAGE) destroy(robot);
+        }
+
+        flags();
+    }
+
+    /**
+     * Deal random program cards to a robot, the number of cards depends on its damage
+     * @param robot the robot to deal cards to
+     */
+    public void dealCards(RobotState robot) {
+        RandomSource random = robot.getRandom();
+        ArrayList<ProgramCard> cardDeck = new ArrayList<>();
+
+        int numOfCards = handSize(robot);
+        for (int i = 0; i < numOfCards; i++) cardDeck.add(drawCard(random));
+
+        robot.setCardDeck(cardDeck);
+    }
+
+    /**
+     * Get the number of cards dealt to a robot
+     * @param robot the robot
+     * @return the number of cards, fewer the more damage the robot has taken
+     */
+    public static int handSize(RobotState robot) {
+        return (robot.getDamageMarkers() >= 4) ? 5 : MAX_CARDS - robot.getDamageMarkers();
+    }
+
+    /**
+     * Draw a random program card, with the same distribution as the cards dealt to the robots
+     * @param random the random source
+     * @return the card
+     */
+    public static ProgramCard drawCard(RandomSource random) {
+        int isMoveCard = random.nextInt(3); // 67% chance of getting a movement card per card
+
+        if (isMoveCard > 0) {
+            int distance = random.nextInt(3) + 1;
+            return new MovementCard(distance, random);
+        } else {
+            boolean clockwise = random.nextBoolean();
+            int rotations = random.nextInt(2) + 1;
+            return new RotationCard(rotations, clockwise, random);
+        }
+    }
+
+    /**
+     * Execute a program card on a robot, unless the robot is powered down or dead
+     * @param robot the robot
+     * @param card the program card to execute
+     */
+    public void doTurn(RobotState robot, ProgramCard card) {
+        if (robot == null || robot.isPoweredDown() || robot.isDead()) return;
+
+        switch (card.getType()) {
+            case MOVEMENT:
+                move(robot, ((MovementCard) card).getDistance(), null);
+                break;
+            case ROTATION:
+                rotate(robot, ((RotationCard) card).isClockwise(), ((RotationCard) card).getRotations());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Move a robot one tile at a time, until it has moved the distance or is stopped
+     * @param robot the robot to move
+     * @param distance how many tiles to move the robot
+     * @param dir the direction to move the robot, or null to move in the direction it is facing
+     */
+    public void move(RobotState robot, int distance, Direction dir) {
+        Direction direction = (dir != null) ? dir : robot.getDirection();
+
+        if (direction == null || direction == Direction.INVALID) {
+            System.err.println("Invalid direction: " + direction + "!");
+            System.err.println("Not moving!");
+            return;
+        }
+
+        for (int i = 1; i <= distance; i++) {
+            int x = robot.getX() + CompiledBoard.DX[direction.ordinal()];
+            int y = robot.getY() + CompiledBoard.DY[direction.ordinal()];
+
+            if (!moveIsValid(robot, direction, x, y)) break;
+
+            place(robot, x, y);
+            if (i == 1) robotMoved(robot);
+
+            // a turning conveyor turns the robot in its direction
+            if (board.isTurning(x, y)) robot.setDirection(board.getConveyorDirection(x, y));
+
+            if (fallIntoHole(robot)) break;
+        }
+    }
+
+    /**
+     * Rotate a robot in 90 degree intervals
+     * @param robot the robot to rotate
+     * @param clockwise true if rotation is clockwise, false if counter-clockwise
+     * @param numOfRotations number of 90 degree turns
+     */
+    public void rotate(RobotState robot, boolean clockwise, int numOfRotations) {
+        for (int i = 0; i < numOfRotations; i++) {
+            Direction dir = clockwise ? Direction.getClockwiseDirection(robot.getDirection()) : Direction.getAntiClockwiseDirection(robot.getDirection());
+            robot.setDirection((dir == Direction.INVALID) ? Direction.NORTH : dir);
+        }
+    }
+
+    /**
+     * Check if a move is valid. Bumping into a wall gives one damage.
+     * @param robot the robot that is moving
+     * @param dir the direction of the move
+     * @param x the desired x-position to move to
+     * @param y the desired y-position to move to
+     * @return true if move is possible, false otherwise
+     */
+    public boolean moveIsValid(RobotState robot, Direction dir, int x, int y) {
+        // check the edge between the cell you are moving from and the cell you are moving to,
+        // walls and lasers are both compiled into the edges
+        int fromX = x - CompiledBoard.DX[dir.ordinal()];
+        int fromY = y - CompiledBoard.DY[dir.ordinal()];
+
+        if (board.isBlocked(fromX, fromY, dir)) {
+            damage(robot, 1);
+            return false;
+        }
+
+        // moving out of the board is allowed, the robot is destroyed later on
+        return !occupancy.isOccupied(x, y);
+    }
+
+    /**
+     * Destroy a robot standing on a hole
+     * @param robot the robot to check
+     * @return true if the robot is standing on a hole, false otherwise
+     */
+    public boolean fallIntoHole(RobotState robot) {
+        if (board.isHole(robot.getX(), robot.getY())) {
+            destroy(robot);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Set the position of a robot
+     * @param robot the robot
+     * @param x the x position
+     * @param y the y position
+     */
+    public void place(RobotState robot, int x, int y) {
+        robot.setPosition(x, y);
+        occupancy.place(robot.getId(), x, y);
+    }
+
+    /**
+     * Give a robot damage markers
+     * @param robot the robot
+     * @param damage the number of damage markers
+     */
+    public void damage(RobotState robot, int damage) {
+        robot.handleDamage(damage);
+        statusChanged(robot);
+    }
+
+    /**
+     * Remove all damage markers of a robot
+     * @param robot the robot
+     */
+    public void repair(RobotState robot) {
+        robot.repair();
+        statusChanged(robot);
+    }
+
+    /**
+     * Set the power status of a robot. Powering down repairs the robot
+     * @param robot the robot
+     * @param onOff true to power down, false to power up
+     */
+    public void setPoweredDown(RobotState robot, boolean onOff) {
+        int damage = robot.getDamageMarkers();
+        robot.setPoweredDown(onOff);
+        if (damage != robot.getDamageMarkers()) statusChanged(robot);
+    }
+
+    /**
+     * Set the number of flags a robot has collected
+     * @param robot the robot
+     * @param flagsCollected the number of flags
+     */
+    public void setFlagsCollected(RobotState robot, int flagsCollected) {
+        robot.setFlagsCollected(flagsCollected);
+        statusChanged(robot);
+    }
+
+    /**
+     * Destroy a robot, respawning it at its backup memory if it has life tokens left
+     * @param robot the robot to destroy
+     */
+    public void destroy(RobotState robot) {
+        robot.respawn(-robot.getId());
+        occupancy.place(robot.getId(), robot.getX(), robot.getY());
+
+        for (int i = 0; i < listeners.size(); i++) listeners.get(i).robotDestroyed(robot);
+        statusChanged(robot);
+    }
+
+    /**
+     * Handle mechanics for all express conveyors
+     */
+    public void conveyExpress() {
+        applyTransitions(board.getExpressTransitions());
+    }
+
+    /**
+     * Handle mechanics for all conveyors
+     */
+    public void conveyRegular() {
+        applyTransitions(board.getConveyorTransitions());
+    }
+
+    /**
+     * Handle mechanics for all gears
+     */
+    public void rotateGears() {
+        applyTransitions(board.getGearTransitions());
+    }
+
+    /**
+     * Move all robots according to a transition table at the same time.
+     * If several robots would end up on the same cell, or two robots would swap cells, none of them are moved.
+     * Robots moved onto holes fall in once all robots have been moved.
+     * @param table the transition table of the board element
+     */
+    private void applyTransitions(TransitionTable table) {
+        // find the cell and facing each robot is moved to
+        for (int i = 0; i < robots.length; i++) {
+            targets[i] = NOT_MOVED;
+            int x = robots[i].getX();
+            int y = robots[i].getY();
+            Direction dir = robots[i].getDirection();
+
+            if (!board.inBounds(x, y) || dir == null || dir == Direction.INVALID) continue;
+
+            int state = TransitionTable.state(board.index(x, y), dir.ordinal());
+            int next = table.next(state);
+            if (next != state) targets[i] = next;
+        }
+
+        // cancel moves onto the same cell and swaps, until no conflicts remain
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            for (int i = 0; i < robots.length; i++) {
+                conflicts[i] = false;
+                int cell = destination(robots[i], targets[i]);
+
+                // only robots changing cell can be in conflict
+                if (cell == -1 || cell == destination(robots[i], NOT_MOVED)) continue;
+
+                int from = destination(robots[i], NOT_MOVED);
+                for (int j = 0; j < robots.length; j++) {
+                    if (i == j) continue;
+
+                    int otherCell = destination(robots[j], targets[j]);
+                    boolean swap = from != -1 && from == otherCell && cell == destination(robots[j], NOT_MOVED);
+                    if (swap || cell == otherCell) {
+                        conflicts[i] = true;
+                        break;
+                    }
+                }
+            }
+
+            for (int i = 0; i < robots.length; i++) {
+                if (conflicts[i]) {
+                    targets[i] = NOT_MOVED;
+                    changed = true;
+                }
+            }
+        }
+
+        for (int i = 0; i < robots.length; i++) {
+            RobotState robot = robots[i];
+
+            if (targets[i] == TransitionTable.OFF_BOARD) {
+                Direction convDir = board.getConveyorDirection(robot.getX(), robot.getY());
+                place(robot, robot.getX() + CompiledBoard.DX[convDir.ordinal()], robot.getY() + CompiledBoard.DY[convDir.ordinal()]);
+                robotMoved(robot);
+            } else if (targets[i] != NOT_MOVED) {
+                int cell = TransitionTable.cell(targets[i]);
+                boolean moved = cell != board.index(robot.getX(), robot.getY());
+                place(robot, cell % board.getWidth(), cell / board.getWidth());
+                robot.setDirection(Direction.fromOrdinal(TransitionTable.facing(targets[i])));
+                if (moved) robotMoved(robot);
+            }
+        }
+
+        // a robot respawning from a hole is placed after all moves, whatever its order
+        for (int i = 0; i < robots.length; i++) {
+            if (targets[i] != NOT_MOVED && targets[i] != TransitionTable.OFF_BOARD) fallIntoHole(robots[i]);
+        }
+    }
+
+    /**
+     * Get the cell a robot will end up on
+     * @param robot the robot
+     * @param target the target state of the robot
+     * @return the cell index, or -1 if the robot isn't on the board
+     */
+    private int destination(RobotState robot, int target) {
+        if (target == TransitionTable.OFF_BOARD) return -1;
+        if (target != NOT_MOVED) return TransitionTable.cell(target);
+
+        return board.inBounds(robot.getX(), robot.getY()) ? board.index(robot.getX(), robot.getY()) : -1;
+    }
+
+    /**
+     * Perform hole mechanics
+     */
+    public void holes() {
+        for (RobotState robot : robots) fallIntoHole(robot);
+    }
+
+    /**
+     * Perform flag mechanics.
+     * Visiting any flag updates the backup memory, visiting the next flag collects it and repairs the robot.
+     */
+    public void flags() {
+        for (RobotState robot : robots) {
+            int flagNum = board.getFlagNumber(robot.getX(), robot.getY());
+
+            if (flagNum != 0) {
+                robot.setBackupMemory(robot.getX(), robot.getY());
+
+                if (flagNum == robot.getFlagsCollected() + 1) {
+                    robot.setFlagsCollected(robot.getFlagsCollected() + 1);
+                    robot.repair();
+                    statusChanged(robot);
+                }
+            }
+
+            if (robot.getFlagsCollected() >= FLAGS_TO_WIN && winner == null) winner = robot;
+        }
+    }
+
+    /**
+     * Fire lasers on board.
+     * Each beam hits the first robot standing in it, seen from its emitter.
+     */
+    public void lasersFire() {
+        for (LaserBeam beam : board.getLaserBeams()) {
+            int x = beam.getStartX();
+            int y = beam.getStartY();
+            int dir = beam.getDirection().ordinal();
+
+            for (int i = 0; i < beam.getLength(); i++) {
+                int id = occupancy.robotAt(x, y);
+                if (id != OccupancyGrid.EMPTY) {
+                    damage(robots[id], beam.getDamage());
+                    break;
+                }
+
+                x += CompiledBoard.DX[dir];
+                y += CompiledBoard.DY[dir];
+            }
+        }
+    }
+
+    /**
+     * Destroy all robots outside of the board, dead robots are kept outside
+     */
+    public void outOfMapTrigger() {
+        for (RobotState robot : robots) {
+            if (!robot.isDead() && !board.inBounds(robot.getX(), robot.getY())) destroy(robot);
+        }
+    }
+
+    /**
+     * Fire the lasers of all the robots
+     */
+    public void robotsFire() {
+        for (RobotState robot : robots) fire(robot);
+    }
+
+    /**
+     * Fire the laser of a robot.
+     * The laser travels from the robot in the direction it is facing,
+     * until it hits a robot, a wall or the edge of the board.
+     * @param shooter the robot firing
+     */
+    public void fire(RobotState shooter) {
+        if (shooter.isDead()) return;
+
+        Direction direction = shooter.getDirection();
+
+        // see if this robot has already searched or shot this phase
+        if (!shooter.hasSearched() && !shooter.hasFired() && direction != Direction.INVALID) {
+            int x = shooter.getX();
+            int y = shooter.getY();
+
+            while (board.inBounds(x, y) && !board.isBlocked(x, y, direction)) {
+                x += CompiledBoard.DX[direction.ordinal()];
+                y += CompiledBoard.DY[direction.ordinal()];
+
+                if (occupancy.isOccupied(x, y)) {
+                    searchAndDestroy(x, y, shooter);
+                    break;
+                }
+            }
+        }
+
+        shooter.setHasSearched(true);
+    }
+
+    /**
+     * Damage all robots at a given position, hit by the laser of a robot
+     * @param x the targets x position
+     * @param y the targets y position
+     * @param shooter the robot that is doing the shooting
+     */
+    public void searchAndDestroy(int x, int y, RobotState shooter) {
+        for (int id = occupancy.robotAt(x, y); id != OccupancyGrid.EMPTY; id = occupancy.nextAt(id)) {
+            damage(robots[id], shooter.getPower());
+            shooter.setHasFired(true);
+            shooter.setHasSearched(true);
+        }
+    }
+
+    /**
+     * Copy the state of another game into this one, without allocating.
+     * Used to restart simulations from the state of a real game.
+     * @param other a game on the same board, with the same number of robots
+     */
+    public void copyFrom(GameEngine other) {
+        for (int i = 0; i < robots.length; i++) {
+            robots[i].copyFrom(other.robots[i]);
+            occupancy.place(i, robots[i].getX(), robots[i].getY());
+        }
+        winner = (other.winner != null) ? robots[other.winner.getId()] : null;
+    }
+
+    /**
+     * Add a listener to be notified of what happens in the game
+     * @param listener the listener
+     */
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a listener added with addListener
+     * @param listener the listener
+     */
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void robotMoved(RobotState robot) {
+        for (int i = 0; i < listeners.size(); i++) listeners.get(i).robotMoved(robot);
+    }
+
+    private void statusChanged(RobotState robot) {
+        for (int i = 0; i < listeners.size(); i++) listeners.get(i).robotStatusChanged(robot);
+    }
+
+    /**
+     * Split off a random source for a subsystem of the game, such as sounds
+     * @return the new random source
+     */
+    public RandomSource split() {
+        return random.split();
+    }
+
+    public CompiledBoard getBoard() {
+        return board;
+    }
+
+    public OccupancyGrid getOccupancy() {
+        return occupancy;
+    }
+
+    public RobotState[] getRobots() {
+        return robots;
+    }
+
+    public RobotState getRobot(int id) {
+        return robots[id];
+    }
+
+    /**
+     * Check if the game is over, either because a robot has won or because all robots are dead
+     * @return true if the game is over, false otherwise
+     */
+    public boolean isOver() {
+        if (winner != null) return true;
+
+        for (RobotState robot : robots) {
+            if (!robot.isDead()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the winner of the game
+     * @return the first robot to collect all flags, or null if no robot has won yet
+     */
+    public RobotState getWinner() {
+        return winner;
+    }
+}
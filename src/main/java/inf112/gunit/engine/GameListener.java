@@ -0,0 +1,27 @@
+package inf112.gunit.engine;
+
+/**
+ * Notified by the GameEngine of what happens in the game, so views such as sounds can follow the game
+ * without being called from the rules. Listeners are called while the engine executes, and must not change the game.
+ */
+public interface GameListener {
+
+    /**
+     * A robot has moved to another tile, by a program card or a board element.
+     * Called once for each card or board element moving the robot, when it has moved its first tile
+     * @param robot the robot
+     */
+    void robotMoved(RobotState robot);
+
+    /**
+     * A robot has been destroyed, and respawned if it had life tokens left
+     * @param robot the robot
+     */
+    void robotDestroyed(RobotState robot);
+
+    /**
+     * The damage markers, life tokens or flags of a robot have changed
+     * @param robot the robot
+     */
+    void robotStatusChanged(RobotState robot);
+}
@@ -0,0 +1,136 @@
+package inf112.gunit.engine;
+
+/**
+ * A seedable, splittable source of random numbers (SplitMix64).
+ * Each game has one source, which is split into independent sources for each robot and subsystem,
+ * so a given seed always produces the same game, no matter in which order the subsystems draw numbers.
+ * A source is not thread-safe, split it to use it from another thread.
+ */
+public class RandomSource {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    // used by code which is not given a source of its own, such as cards created in tests
+    private static final RandomSource UNSEEDED = new RandomSource(System.nanoTime());
+
+    private long seed;
+    private final long gamma;
+
+    /**
+     * The RandomSource constructor
+     * @param seed the seed, the same seed always gives the same numbers
+     */
+    public RandomSource(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private RandomSource(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Get a shared source with an unknown seed, for code where reproducibility does not matter
+     * @return the unseeded source
+     */
+    public static RandomSource unseeded() {
+        return UNSEEDED;
+    }
+
+    /**
+     * Split off a new, independent source. Splitting advances this source.
+     * @return the new source
+     */
+    public RandomSource split() {
+        return new RandomSource(nextLong(), mixGamma(nextSeed()));
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    /**
+     * Get the next random long
+     * @return a uniformly distributed long
+     */
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    /**
+     * Get the next random int
+     * @return a uniformly distributed int
+     */
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    /**
+     * Get the next random int between 0 (inclusive) and bound (exclusive)
+     * @param bound the upper bound, must be positive
+     * @return a uniformly distributed int in [0, bound)
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("Bound must be positive");
+
+        int r = mix32(nextSeed());
+        int m = bound - 1;
+
+        if ((bound & m) == 0) {
+            // the bound is a power of two
+            r &= m;
+        } else {
+            // reject values from the incomplete range at the end, to avoid bias
+            for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextSeed()) >>> 1);
+        }
+
+        return r;
+    }
+
+    /**
+     * Get the next random boolean
+     * @return true or false with equal probability
+     */
+    public boolean nextBoolean() {
+        return mix32(nextSeed()) < 0;
+    }
+
+    /**
+     * Get the next random double between 0 (inclusive) and 1 (exclusive)
+     * @return a uniformly distributed double in [0, 1)
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Get the next normally distributed double, by the Box-Muller transform
+     * @return a double from the normal distribution with mean 0 and standard deviation 1
+     */
+    public double nextGaussian() {
+        double u = 1 - nextDouble();
+        double v = nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+
+        // make sure the gamma has enough bit transitions to give good numbers
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
@@ -0,0 +1,301 @@
+package inf112.gunit.engine;
+
+import inf112.gunit.board.Direction;
+import inf112.gunit.player.card.MovementCard;
+import inf112.gunit.player.card.ProgramCard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The rules state of a single robot, without any rendering.
+ * The position of a robot can only be changed through the GameEngine,
+ * which keeps the occupancy of the board up to date.
+ */
+public class RobotState {
+
+    public static final int LIFE_TOKENS = 3;
+
+    private final int id;
+
+    private int x;
+    private int y;
+
+    // the direction the robot is facing
+    private Direction dir = Direction.NORTH;
+
+    // the position the robot respawns at, the start position or the last flag visited
+    private int backupX;
+    private int backupY;
+
+    private int lifeTokens = LIFE_TOKENS;
+    private int damageMarkers = 0;
+    private int flagsCollected = 0;
+
+    // each robot can search and fire once each phase
+    private boolean hasFired = false;
+    private boolean hasSearched = false;
+
+    private boolean wantsToPowerDown = false;
+    private boolean poweredDown = false;
+
+    private boolean dead = false;
+
+    private ProgramCard[] program;
+    private ArrayList<ProgramCard> cardDeck = new ArrayList<>();
+
+    // the random sources of the cards dealt to the robot, and of the AI programming it
+    private final RandomSource random;
+    private final RandomSource aiRandom;
+
+    /**
+     * The RobotState constructor
+     * @param id the identifier of the robot
+     * @param x the x position of the start position
+     * @param y the y position of the start position
+     * @param random the random source of the robot
+     */
+    public RobotState(int id, int x, int y, RandomSource random) {
+        this.id = id;
+        this.random = random;
+        this.aiRandom = random.split();
+        this.x = x;
+        this.y = y;
+        this.backupX = x;
+        this.backupY = y;
+    }
+
+    /**
+     * Set the position of the robot, only called by the GameEngine
+     * @param x the x position
+     * @param y the y position
+     */
+    void setPosition(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Respawn the robot at its backup memory, losing a life token.
+     * If the robot has no life tokens left, it is removed from the board.
+     * Only called by the GameEngine, which updates the occupancy afterwards.
+     * @param offBoardY the y position to put the robot on if it is removed from the board
+     */
+    void respawn(int offBoardY) {
+        lifeTokens--;
+        x = backupX;
+        y = backupY;
+        dir = Direction.NORTH;
+        damageMarkers = 0;
+
+        if (lifeTokens <= 0) {
+            dead = true;
+            x = -1;
+            y = offBoardY;
+        }
+    }
+
+    /**
+     * Set a program for the current round
+     * @param program the program to run on the robot
+     */
+    public void setProgram(ProgramCard[] program) {
+        if (program.length != 5) throw new IllegalArgumentException("Program must be of length 5");
+        this.program = Arrays.copyOf(program, 5);
+    }
+
+    /**
+     * Set a single register of the program, reusing the program array.
+     * Used by simulations, which change the program every round.
+     * @param register the register, from 0 to 4
+     * @param card the program card
+     */
+    public void setProgramCard(int register, ProgramCard card) {
+        if (program == null) program = new ProgramCard[5];
+        program[register] = card;
+    }
+
+    public ProgramCard[] getProgram() {
+        return program;
+    }
+
+    public ArrayList<ProgramCard> getCardDeck() {
+        return cardDeck;
+    }
+
+    void setCardDeck(ArrayList<ProgramCard> cardDeck) {
+        this.cardDeck = cardDeck;
+    }
+
+    /**
+     * Copy the state of another robot, without allocating.
+     * The program is copied into the program array of this robot, the cards dealt are not copied.
+     * Only called by the GameEngine, which updates the occupancy afterwards.
+     * @param other the robot to copy
+     */
+    void copyFrom(RobotState other) {
+        x = other.x;
+        y = other.y;
+        dir = other.dir;
+        backupX = other.backupX;
+        backupY = other.backupY;
+        lifeTokens = other.lifeTokens;
+        damageMarkers = other.damageMarkers;
+        flagsCollected = other.flagsCollected;
+        hasFired = other.hasFired;
+        hasSearched = other.hasSearched;
+        wantsToPowerDown = other.wantsToPowerDown;
+        poweredDown = other.poweredDown;
+        dead = other.dead;
+
+        if (other.program == null) {
+            if (program != null) Arrays.fill(program, null);
+        } else {
+            for (int i = 0; i < other.program.length; i++) setProgramCard(i, other.program[i]);
+        }
+    }
+
+    /**
+     * Get the random source used when dealing cards to the robot
+     * @return the random source
+     */
+    public RandomSource getRandom() {
+        return random;
+    }
+
+    /**
+     * Get the random source used by the AI programming the robot
+     * @return the random source
+     */
+    public RandomSource getAIRandom() {
+        return aiRandom;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public Direction getDirection() {
+        return dir;
+    }
+
+    public void setDirection(Direction dir) {
+        this.dir = dir;
+    }
+
+    public int getBackupX() {
+        return backupX;
+    }
+
+    public int getBackupY() {
+        return backupY;
+    }
+
+    /**
+     * Set the backup memory, the position the robot respawns at
+     * @param x the x position
+     * @param y the y position
+     */
+    public void setBackupMemory(int x, int y) {
+        this.backupX = x;
+        this.backupY = y;
+    }
+
+    public int getLifeTokens() {
+        return lifeTokens;
+    }
+
+    public int getDamageMarkers() {
+        return damageMarkers;
+    }
+
+    /**
+     * Add damage markers to the robot
+     * @param power the amount of damage taken
+     */
+    public void handleDamage(int power) {
+        this.damageMarkers += power;
+    }
+
+    public void repair() {
+        this.damageMarkers = 0;
+    }
+
+    public int getFlagsCollected() {
+        return flagsCollected;
+    }
+
+    public void setFlagsCollected(int flagsCollected) {
+        this.flagsCollected = flagsCollected;
+    }
+
+    public boolean hasFired() {
+        return hasFired;
+    }
+
+    public void setHasFired(boolean hasFired) {
+        this.hasFired = hasFired;
+    }
+
+    public boolean hasSearched() {
+        return hasSearched;
+    }
+
+    public void setHasSearched(boolean hasSearched) {
+        this.hasSearched = hasSearched;
+    }
+
+    /**
+     * Toggle whether the robot wants to power down next round
+     */
+    public void updatePowerDownDesire() {
+        wantsToPowerDown = !wantsToPowerDown;
+    }
+
+    public boolean getPowerDownDesire() {
+        return wantsToPowerDown;
+    }
+
+    public boolean isPoweredDown() {
+        return poweredDown;
+    }
+
+    /**
+     * Set the power status of the robot.
+     * Powering down repairs the robot.
+     * @param onOff true to power down, false to power up
+     */
+    public void setPoweredDown(boolean onOff) {
+        poweredDown = onOff;
+        if (onOff) {
+            this.damageMarkers = 0;
+            program = new ProgramCard[]{
+                    new MovementCard(1, random),
+                    new MovementCard(1, random),
+                    new MovementCard(1, random),
+                    new MovementCard(1, random),
+                    new MovementCard(1, random)
+            };
+        }
+    }
+
+    public boolean isDead() {
+        return dead;
+    }
+
+    /**
+     * Get the amount of damage the robots laser deals
+     * @return power
+     */
+    public int getPower() {
+        return 1;
+    }
+}
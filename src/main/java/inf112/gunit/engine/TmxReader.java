@@ -0,0 +1,140 @@
+package inf112.gunit.engine;
+
+import inf112.gunit.board.TileSource;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the tiles of a Tiled map (.tmx) without libGDX, so that boards can be compiled
+ * without a GL context. Only what the board mechanics need is read:
+ * CSV-encoded tile layers, and the tile properties of external tilesets.
+ * As in libGDX, y = 0 is the bottom row of the map.
+ */
+public class TmxReader implements TileSource {
+
+    // the bits of a gid used by Tiled to flip a tile
+    private static final int FLIP_MASK = 0xE0000000;
+
+    private final int width;
+    private final int height;
+
+    // the gid of each cell in each layer, 0 if the cell is empty
+    private final Map<String, int[]> layers = new HashMap<>();
+
+    // the properties of each tile with properties, by gid
+    private final Map<Integer, Map<String, String>> tileProperties = new HashMap<>();
+
+    /**
+     * Read a map from a file
+     * @param path the path of the .tmx-file
+     */
+    public TmxReader(String path) {
+        File file = new File(path);
+        Element map = parse(file).getDocumentElement();
+
+        width = Integer.parseInt(map.getAttribute("width"));
+        height = Integer.parseInt(map.getAttribute("height"));
+
+        NodeList tilesets = map.getElementsByTagName("tileset");
+        for (int i = 0; i < tilesets.getLength(); i++) {
+            Element tileset = (Element) tilesets.item(i);
+            int firstGid = Integer.parseInt(tileset.getAttribute("firstgid"));
+
+            // tilesets are either stored in the map or in a separate .tsx-file
+            if (!tileset.getAttribute("source").isEmpty()) {
+                tileset = parse(new File(file.getParentFile(), tileset.getAttribute("source"))).getDocumentElement();
+            }
+            readTileset(tileset, firstGid);
+        }
+
+        NodeList layerNodes = map.getElementsByTagName("layer");
+        for (int i = 0; i < layerNodes.getLength(); i++) {
+            Element layer = (Element) layerNodes.item(i);
+            layers.put(layer.getAttribute("name"), readLayer(layer));
+        }
+    }
+
+    private static Document parse(File file) {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Could not read map " + file.getPath(), e);
+        }
+    }
+
+    private void readTileset(Element tileset, int firstGid) {
+        NodeList tiles = tileset.getElementsByTagName("tile");
+        for (int i = 0; i < tiles.getLength(); i++) {
+            Element tile = (Element) tiles.item(i);
+            Map<String, String> props = new HashMap<>();
+
+            NodeList propNodes = tile.getElementsByTagName("property");
+            for (int j = 0; j < propNodes.getLength(); j++) {
+                Element prop = (Element) propNodes.item(j);
+                props.put(prop.getAttribute("name"), prop.getAttribute("value"));
+            }
+
+            tileProperties.put(firstGid + Integer.parseInt(tile.getAttribute("id")), props);
+        }
+    }
+
+    private int[] readLayer(Element layer) {
+        Element data = (Element) layer.getElementsByTagName("data").item(0);
+        if (data == null || !"csv".equals(data.getAttribute("encoding"))) {
+            throw new IllegalArgumentException("Layer " + layer.getAttribute("name") + " is not CSV-encoded");
+        }
+
+        String[] values = data.getTextContent().trim().split("\\s*,\\s*");
+        if (values.length != width * height) {
+            throw new IllegalArgumentException("Layer " + layer.getAttribute("name") + " has " + values.length + " tiles, expected " + width * height);
+        }
+
+        // the first row of the data is the top row of the map
+        int[] gids = new int[width * height];
+        for (int i = 0; i < values.length; i++) {
+            int x = i % width;
+            int y = height - 1 - i / width;
+            gids[x + y * width] = (int) Long.parseLong(values[i]) & ~FLIP_MASK;
+        }
+
+        return gids;
+    }
+
+    private int getGid(String layer, int x, int y) {
+        int[] gids = layers.get(layer);
+        if (gids == null || x < 0 || x >= width || y < 0 || y >= height) return 0;
+        return gids[x + y * width];
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean hasLayer(String layer) {
+        return layers.containsKey(layer);
+    }
+
+    @Override
+    public boolean hasTile(String layer, int x, int y) {
+        return getGid(layer, x, y) != 0;
+    }
+
+    @Override
+    public String getProperty(String layer, int x, int y, String key) {
+        Map<String, String> props = tileProperties.get(getGid(layer, x, y));
+        return (props == null) ? null : props.get(key);
+    }
+}
@@ -1,9 +1,11 @@
 package inf112.gunit.hud;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
@@ -12,27 +14,43 @@ import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import inf112.gunit.assets.Assets;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.GameListener;
+import inf112.gunit.engine.RobotState;
 import inf112.gunit.main.Main;
+import inf112.gunit.player.Robot;
 import inf112.gunit.player.card.CardType;
 import inf112.gunit.player.card.MovementCard;
 import inf112.gunit.player.card.ProgramCard;
 import inf112.gunit.player.card.RotationCard;
 import inf112.gunit.screens.Game;
 
+import java.util.ArrayList;
+
 public class Hud implements Disposable {
 
     private final Game game;
-    private final Texture bg = new Texture("assets/hud/program_sheet_bg.png");
-    private final Texture DAMAGE_TOKEN_FILLED = new Texture("assets/hud/damage_token.png");
-    private final Texture DAMAGE_TOKEN = new Texture("assets/hud/damage_token_grey.png");
-    private final Texture LIFE_TOKEN_FILLED = new Texture("assets/hud/life_token.png");
-    private final Texture LIFE_TOKEN = new Texture("assets/hud/life_token_grey.png");
-
-    private final TextureRegion[][] CARD_TEXTURES = TextureRegion.split(new Texture("assets/hud/card_sprites.png"), 75, 100);
-    private final TextureRegion[][] FLAG_TEXTURES = TextureRegion.split(new Texture("assets/hud/flag_sprites.png"), 300, 300);
+    // the regions of the shared sprite atlas, released on dispose
+    private final TextureAtlas atlas = Assets.SPRITES.acquire();
+    private final TextureRegion bg = atlas.findRegion("program_sheet_bg");
+    private final Drawable DAMAGE_TOKEN_FILLED = new TextureRegionDrawable(atlas.findRegion("damage_token"));
+    private final Drawable DAMAGE_TOKEN = new TextureRegionDrawable(atlas.findRegion("damage_token_grey"));
+    private final Drawable LIFE_TOKEN_FILLED = new TextureRegionDrawable(atlas.findRegion("life_token"));
+    private final Drawable LIFE_TOKEN = new TextureRegionDrawable(atlas.findRegion("life_token_grey"));
+
+    // the card sheet has the movement cards in the first row and the rotation cards in the second
+    private static final int CARD_COLUMNS = 3;
+    private final Array<TextureAtlas.AtlasRegion> CARD_TEXTURES = atlas.findRegions(Assets.CARD);
+
+    // a style for each card face, and a button for each card that can be dealt, bound to new cards each round
+    private final ImageTextButton.ImageTextButtonStyle[] cardStyles = new ImageTextButton.ImageTextButtonStyle[CARD_TEXTURES.size];
+    private final ProgramCardButton[] cardButtons = new ProgramCardButton[GameEngine.MAX_CARDS];
+    private final Array<TextureAtlas.AtlasRegion> FLAG_TEXTURES = atlas.findRegions(Assets.FLAG);
 
     private final int TEXTURE_PADDING = 30;
 
@@ -41,8 +59,42 @@ public class Hud implements Disposable {
     private final Table cardTable;
     private final Table flagTable;
 
+    // the tokens and flags are created once, and only change their drawables when the status of the robot changes
+    private final Image[] damageTokens = new Image[GameEngine.MAX_DAMAGE];
+    private final Image[] lifeTokens = new Image[RobotState.LIFE_TOKENS];
+    private final Image[] flags = new Image[GameEngine.FLAGS_TO_WIN];
+    private final Drawable[] flagDrawables = new Drawable[GameEngine.FLAGS_TO_WIN];
+    private boolean statusChanged = true;
+
+    // marks the status as changed when the engine changes the status of the players robot
+    private final GameListener statusListener = new GameListener() {
+        @Override
+        public void robotMoved(RobotState robot) {
+            // moves don't change the hud
+        }
+
+        @Override
+        public void robotDestroyed(RobotState robot) {
+            // followed by a status change
+        }
+
+        @Override
+        public void robotStatusChanged(RobotState robot) {
+            if (robot == game.getPlayerRobot().getState()) statusChanged = true;
+        }
+    };
+
+    // the hint state shown on the hint button, so its text is only set when it changes
+    private static final int HINT_OFF = -1;
+    private static final int HINT_SEARCHING = 0;
+    private int shownHint = Integer.MIN_VALUE;
+
     private final ImageButton powerDownButton;
     private final ImageButton submitButton;
+    private final TextButton hintButton;
+
+    // the card suggested as the next card of the program
+    private static final Color HINT_COLOR = new Color(1f, 0.85f, 0.3f, 1f);
     
     private final ImageButton.ImageButtonStyle powerDownUncheckedStyle;
     private final ImageButton.ImageButtonStyle powerDownCheckedStyle;
@@ -79,25 +131,25 @@ public class Hud implements Disposable {
         cardTable.setPosition(500, 0);
 
         powerDownUncheckedStyle = new ImageButton.ImageButtonStyle();
-        Texture POWER_DOWN_GREY = new Texture("assets/hud/power_down_grey.png");
-        powerDownUncheckedStyle.imageUp = new TextureRegionDrawable(new TextureRegion(POWER_DOWN_GREY));
-        Texture POWER_DOWN = new Texture("assets/hud/power_down.png");
-        powerDownUncheckedStyle.imageDown = new TextureRegionDrawable(new TextureRegion(POWER_DOWN));
+        TextureRegion POWER_DOWN_GREY = atlas.findRegion("power_down_grey");
+        powerDownUncheckedStyle.imageUp = new TextureRegionDrawable(POWER_DOWN_GREY);
+        TextureRegion POWER_DOWN = atlas.findRegion("power_down");
+        powerDownUncheckedStyle.imageDown = new TextureRegionDrawable(POWER_DOWN);
 
         powerDownCheckedStyle = new ImageButton.ImageButtonStyle();
-        powerDownCheckedStyle.imageUp = new TextureRegionDrawable(new TextureRegion(POWER_DOWN));
-        powerDownCheckedStyle.imageDown = new TextureRegionDrawable(new TextureRegion(POWER_DOWN_GREY));
+        powerDownCheckedStyle.imageUp = new TextureRegionDrawable(POWER_DOWN);
+        powerDownCheckedStyle.imageDown = new TextureRegionDrawable(POWER_DOWN_GREY);
 
         submitUnreadyStyle = new ImageButton.ImageButtonStyle();
-        Texture SUBMIT_GREY = new Texture("assets/hud/submit_grey.png");
-        submitUnreadyStyle.imageUp = new TextureRegionDrawable(new TextureRegion(SUBMIT_GREY));
+        TextureRegion SUBMIT_GREY = atlas.findRegion("submit_grey");
+        submitUnreadyStyle.imageUp = new TextureRegionDrawable(SUBMIT_GREY);
 
         submitReadyStyle = new ImageButton.ImageButtonStyle();
-        Texture SUBMIT_GREEN = new Texture("assets/hud/submit_green.png");
-        submitReadyStyle.imageUp = new TextureRegionDrawable(new TextureRegion(SUBMIT_GREEN));
+        TextureRegion SUBMIT_GREEN = atlas.findRegion("submit_green");
+        submitReadyStyle.imageUp = new TextureRegionDrawable(SUBMIT_GREEN);
 
         powerDownButton = new ImageButton(powerDownUncheckedStyle);
-        powerDownButton.setPosition(Main.WIDTH - 500 + TEXTURE_PADDING, Main.HEIGHT - POWER_DOWN.getHeight() - TEXTURE_PADDING);
+        powerDownButton.setPosition(Main.WIDTH - 500 + TEXTURE_PADDING, Main.HEIGHT - POWER_DOWN.getRegionHeight() - TEXTURE_PADDING);
         powerDownButton.addListener(addButtonListener(powerDownButton));
         powerDownButton.addListener(new ClickListener(){
             @Override
@@ -122,16 +174,31 @@ public class Hud implements Disposable {
             }
         });
 
+        TextButton.TextButtonStyle hintStyle = new TextButton.TextButtonStyle();
+        hintStyle.font = Main.font;
+        hintButton = new TextButton("", hintStyle);
+        hintButton.getLabel().setFontScale(2);
+        hintButton.setPosition(Main.WIDTH - 450, 230);
+        hintButton.addListener(addButtonListener(hintButton));
+        hintButton.addListener(new ClickListener(){
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                super.clicked(event, x, y);
+                game.setHintsEnabled(!game.isHintsEnabled());
+            }
+        });
+
         stage.addActor(flagTable);
         stage.addActor(damageTokenTable);
         stage.addActor(lifeTokenTable);
         stage.addActor(cardTable);
         stage.addActor(powerDownButton);
         stage.addActor(submitButton);
+        stage.addActor(hintButton);
 
-        updateFlags();
-        updateDamageTokens();
-        updateLifeTokens();
+        createStatusWidgets();
+        createCardButtons();
+        game.getEngine().addListener(statusListener);
 
         Gdx.input.setInputProcessor(stage);
     }
@@ -163,78 +230,70 @@ public class Hud implements Disposable {
     }
 
     /**
-     * Update the flag-table, which draws all flags picked up by the players robot
+     * Create the images of the flag, damage token and life token tables
      */
-    private void updateFlags() {
-        flagTable.reset();
-
-        for (int i = 0; i < game.getPlayerRobot().getFlagsCollected(); i++) {
-            Drawable d = new TextureRegionDrawable(FLAG_TEXTURES[0][i]);
+    private void createStatusWidgets() {
+        for (int i = 0; i < flags.length; i++) {
+            Drawable d = new TextureRegionDrawable(FLAG_TEXTURES.get(i));
             float FLAG_SCALE = 0.3f;
             d.setMinWidth(d.getMinWidth() * FLAG_SCALE);
             d.setMinHeight(d.getMinHeight() * FLAG_SCALE);
-            flagTable.add(new Image(d));
-        }
-    }
+            flagDrawables[i] = d;
 
-    /**
-     * Update the damage token-table, which draws all damage tokens according to the players robot
-     */
-    private void updateDamageTokens() {
-        damageTokenTable.reset();
-        int damageTokens = game.getPlayerRobot().getDamageMarkers();
+            // a flag which hasn't been collected has no drawable, and takes no space
+            flags[i] = new Image((Drawable) null);
+            flagTable.add(flags[i]);
+        }
 
-        for (int i = 0; i < 10; i++) {
-            if (i < damageTokens) damageTokenTable.add(new Image(DAMAGE_TOKEN_FILLED));
-            else damageTokenTable.add(new Image(DAMAGE_TOKEN));
+        for (int i = 0; i < damageTokens.length; i++) {
+            damageTokens[i] = new Image(DAMAGE_TOKEN);
+            damageTokenTable.add(damageTokens[i]);
             if (damageTokenTable.getCells().size % 5 == 0) damageTokenTable.row();
         }
+
+        for (int i = 0; i < lifeTokens.length; i++) {
+            lifeTokens[i] = new Image(LIFE_TOKEN);
+            lifeTokenTable.add(lifeTokens[i]);
+        }
+
+        updateStatus();
     }
 
     /**
-     * Update the life token-table, which draws all life tokens according to the players robot
+     * Show the flags, damage tokens and life tokens of the players robot, without creating any actors
      */
-    private void updateLifeTokens() {
-        lifeTokenTable.reset();
-        int lifeTokens = game.getPlayerRobot().getLifeTokens();
+    private void updateStatus() {
+        statusChanged = false;
+        Robot robot = game.getPlayerRobot();
 
-        for (int i = 0; i < 3; i++) {
-            if (i < lifeTokens) lifeTokenTable.add(new Image(LIFE_TOKEN_FILLED));
-            else lifeTokenTable.add(new Image(LIFE_TOKEN));
+        for (int i = 0; i < flags.length; i++) {
+            flags[i].setDrawable((i < robot.getFlagsCollected()) ? flagDrawables[i] : null);
+        }
+        for (int i = 0; i < damageTokens.length; i++) {
+            damageTokens[i].setDrawable((i < robot.getDamageMarkers()) ? DAMAGE_TOKEN_FILLED : DAMAGE_TOKEN);
+        }
+        for (int i = 0; i < lifeTokens.length; i++) {
+            lifeTokens[i].setDrawable((i < robot.getLifeTokens()) ? LIFE_TOKEN_FILLED : LIFE_TOKEN);
         }
-
     }
 
     /**
-     * Update the card-table, which is used for picking program cards to program the robot
+     * Create the styles of the card faces and the card buttons, which are reused for the cards of every round
      */
-    public void updateCards() {
-        cardTable.reset();
-
-        for (final ProgramCard card : game.getPlayerRobot().getCardDeck()) {
-            CardType type = card.getType();
-            int x;
-            int y;
-
-            if (type == CardType.MOVEMENT) {
-                y = 0;
-                x = ((MovementCard) card).getDistance() - 1;
-            } else {
-                y = 1;
-                if (((RotationCard) card).getRotations() == 2) {
-                    x = 2;
-                } else {
-                    x = (((RotationCard) card).isClockwise()) ? 0 : 1;
-                }
-            }
+    private void createCardButtons() {
+        for (int i = 0; i < cardStyles.length; i++) {
             ImageTextButton.ImageTextButtonStyle style = new ImageTextButton.ImageTextButtonStyle();
-            style.imageUp = new TextureRegionDrawable(CARD_TEXTURES[y][x]);
-            style.imageChecked = new TextureRegionDrawable(CARD_TEXTURES[y][x]);
+            TextureRegion cardTexture = CARD_TEXTURES.get(i);
+            style.imageUp = new TextureRegionDrawable(cardTexture);
+            style.imageChecked = new TextureRegionDrawable(cardTexture);
             style.imageChecked.setMinHeight(style.imageChecked.getMinHeight() * 0.9f);
             style.imageChecked.setMinWidth(style.imageChecked.getMinWidth() * 0.9f);
-
             style.font = Main.font;
-            final ProgramCardButton button = new ProgramCardButton(card, String.valueOf(card.getPriority()), style);
+            cardStyles[i] = style;
+        }
+
+        for (int i = 0; i < cardButtons.length; i++) {
+            final ProgramCardButton button = new ProgramCardButton(cardStyles[0]);
             button.addListener(new ClickListener() {
                 @Override
                 public void enter(InputEvent event, float x, float y, int pointer, Actor fromActor) {
@@ -253,19 +312,81 @@ public class Hud implements Disposable {
                 @Override
                 public void clicked(InputEvent event, float x, float y) {
                     super.clicked(event, x, y);
-                    if (game.getPlayerRobot().getProgramBuffer().size() < 5) {
-                        game.getPlayerRobot().addBufferCard(card);
+                    if (button.getCard() != null && game.getPlayerRobot().getProgramBuffer().size() < 5) {
+                        game.getPlayerRobot().addBufferCard(button.getCard());
                         cardTable.removeActor(button);
+                        game.updateHint();
                         if (game.getPlayerRobot().getProgramBuffer().size() >= 5)
                             submitButton.setStyle(submitReadyStyle);
                     }
                 }
             });
+            cardButtons[i] = button;
+        }
+    }
+
+    /**
+     * Get the face of a card in the card sheet, which has the movement cards in the first row
+     * and the rotation cards in the second
+     * @param card the card
+     * @return the index of the face
+     */
+    static int faceOf(ProgramCard card) {
+        int x;
+        int y;
+
+        if (card.getType() == CardType.MOVEMENT) {
+            y = 0;
+            x = ((MovementCard) card).getDistance() - 1;
+        } else {
+            y = 1;
+            if (((RotationCard) card).getRotations() == 2) {
+                x = 2;
+            } else {
+                x = (((RotationCard) card).isClockwise()) ? 0 : 1;
+            }
+        }
+
+        return y * CARD_COLUMNS + x;
+    }
+
+    /**
+     * Update the card-table, which is used for picking program cards to program the robot.
+     * The card buttons are bound to the cards dealt, without creating any actors
+     */
+    public void updateCards() {
+        clearCards();
+
+        ArrayList<ProgramCard> deck = game.getPlayerRobot().getCardDeck();
+        for (int i = 0; i < deck.size() && i < cardButtons.length; i++) {
+            ProgramCard card = deck.get(i);
+            ProgramCardButton button = cardButtons[i];
+            button.bind(card, cardStyles[faceOf(card)]);
 
             cardTable.add(button).pad(10);
             if (cardTable.getCells().size % 3 == 0) cardTable.row();
         }
+    }
+
+    /**
+     * Highlight the card suggested as the next card of the program, polled every frame as the hint gets better
+     */
+    private void updateHint() {
+        ProgramCard[] hint = game.getHint();
+        int chosen = game.getPlayerRobot().getProgramBuffer().size();
+        ProgramCard next = (hint != null && chosen < hint.length) ? hint[chosen] : null;
+
+        for (ProgramCardButton button : cardButtons) {
+            button.getImage().setColor((next != null && button.getCard() == next) ? HINT_COLOR : Color.WHITE);
+        }
 
+        int state = !game.isHintsEnabled() ? HINT_OFF : (next == null) ? HINT_SEARCHING : game.getHintDepth();
+        if (state == shownHint) return;
+        shownHint = state;
+
+        if (state == HINT_OFF) hintButton.setText("Hint: off");
+        else if (state == HINT_SEARCHING) hintButton.setText("Hint: ...");
+        else hintButton.setText("Hint: " + state + "/" + hint.length);
     }
 
     /**
@@ -273,6 +394,7 @@ public class Hud implements Disposable {
      */
     public void clearCards() {
         cardTable.reset();
+        for (ProgramCardButton button : cardButtons) button.unbind();
     }
 
     /**
@@ -283,25 +405,42 @@ public class Hud implements Disposable {
     }
 
     /**
-     * Draw the hud
+     * Draw the hud, as the last part of the frame drawn through the shared batch
+     * @param batch the batch, which has begun drawing
      */
-    public void draw() {
+    public void draw(Batch batch) {
         stage.act(Gdx.graphics.getDeltaTime());
+        update();
+
+        stage.getCamera().update();
+        batch.setProjectionMatrix(stage.getCamera().combined);
+        batch.draw(bg, 1000, 0, 500, 1000);
+        batch.draw(game.getPlayerRobot().getTextureRegion(), Main.WIDTH - 200 - TEXTURE_PADDING, Main.HEIGHT - 200 - TEXTURE_PADDING, 200, 200);
 
-        stage.getBatch().begin();
-        stage.getBatch().draw(bg, 1000, 0, 500, 1000);
-        stage.getBatch().draw(game.getPlayerRobot().getTextureRegion(), Main.WIDTH - 200 - TEXTURE_PADDING, Main.HEIGHT - 200 - TEXTURE_PADDING, 200, 200);
-        stage.getBatch().end();
+        // the same as stage.draw, without beginning and ending the batch again
+        stage.getRoot().draw(batch, 1);
+    }
 
-        updateDamageTokens();
-        updateLifeTokens();
-        updateFlags();
+    /**
+     * Update the widgets of the hud which have changed since the last frame
+     */
+    void update() {
+        if (statusChanged) updateStatus();
+        updateHint();
+    }
 
-        stage.draw();
+    /**
+     * Check if the status of the players robot has changed since the hud was last updated
+     * @return true if the flags and tokens need to be updated, false otherwise
+     */
+    boolean isStatusChanged() {
+        return statusChanged;
     }
 
     @Override
     public void dispose() {
+        game.getEngine().removeListener(statusListener);
         stage.dispose();
+        Assets.SPRITES.release();
     }
 }
@@ -1,15 +1,43 @@
 package inf112.gunit.hud;
 
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageTextButton;
 import inf112.gunit.player.card.ProgramCard;
 
+/**
+ * A button showing a program card. The hud keeps one button for each card that can be dealt,
+ * and binds them to the new cards each round instead of creating new buttons.
+ */
 public class ProgramCardButton extends ImageTextButton {
 
-    private final ProgramCard card;
+    private ProgramCard card;
 
-    public ProgramCardButton(ProgramCard card, String text, ImageTextButtonStyle style) {
-        super(text, style);
+    public ProgramCardButton(ImageTextButtonStyle style) {
+        super("", style);
+        setProgrammaticChangeEvents(false);
+    }
+
+    /**
+     * Show a card on the button
+     * @param card the card
+     * @param style the style of the face of the card, shared by all cards with the same face
+     */
+    public void bind(ProgramCard card, ImageTextButtonStyle style) {
         this.card = card;
+
+        if (getStyle() != style) setStyle(style);
+        setChecked(false);
+        getImage().setColor(Color.WHITE);
+
+        // the label writes the number into its own text, without allocating
+        getLabel().setText(card.getPriority());
+    }
+
+    /**
+     * Forget the card of the button
+     */
+    public void unbind() {
+        card = null;
     }
 
     public ProgramCard getCard() {
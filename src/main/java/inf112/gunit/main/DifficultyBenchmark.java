@@ -0,0 +1,217 @@
+package inf112.gunit.main;
+
+import inf112.gunit.ai.Difficulty;
+import inf112.gunit.ai.Strategy;
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.board.DistanceFieldCache;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RandomSource;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.engine.TmxReader;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the difficulty tiers of the AI on the current hardware: the latency of each decision,
+ * and the win rate of each tier against the tier below it.
+ * Each tier plays headless games against the tier below, alternating the start positions.
+ * The games are played one at a time, so every decision has the whole AI pool to itself,
+ * as it has in the game.
+ */
+public class DifficultyBenchmark {
+
+    private static final String USAGE = "Usage: DifficultyBenchmark [-games N] [-board path.tmx] [-seed S] "
+            + "[-rounds maxRoundsPerGame] [-threads T]";
+
+    private final CompiledBoard board;
+    private final long seed;
+    private final int maxRounds;
+
+    /**
+     * The measured decisions and games of a tier against the tier below it
+     */
+    public static class Result {
+
+        private final Difficulty difficulty;
+        private long[] latencies = new long[64];
+        private int decisions;
+        private int games;
+        private int wins;
+        private int losses;
+
+        Result(Difficulty difficulty) {
+            this.difficulty = difficulty;
+        }
+
+        void addDecision(long nanos) {
+            if (decisions == latencies.length) latencies = Arrays.copyOf(latencies, decisions * 2);
+            latencies[decisions++] = nanos;
+        }
+
+        public Difficulty getDifficulty() {
+            return difficulty;
+        }
+
+        public int getDecisions() {
+            return decisions;
+        }
+
+        /**
+         * Get a percentile of the decision latencies
+         * @param percentile the percentile, between 0 and 100
+         * @return the latency in milliseconds, 0 if there were no decisions
+         */
+        public double getLatencyMillis(double percentile) {
+            if (decisions == 0) return 0;
+
+            long[] sorted = Arrays.copyOf(latencies, decisions);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * decisions) - 1;
+            return sorted[Math.max(0, Math.min(index, decisions - 1))] / 1e6;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        /**
+         * Get the number of games won against the tier below
+         * @return the number of wins
+         */
+        public int getWins() {
+            return wins;
+        }
+
+        /**
+         * Get the number of games lost against the tier below
+         * @return the number of losses
+         */
+        public int getLosses() {
+            return losses;
+        }
+    }
+
+    /**
+     * The DifficultyBenchmark constructor
+     * @param board the board to play on, with at least two start positions
+     * @param seed the seed of the benchmark, each game gets its own seed from it
+     * @param maxRounds the number of rounds after which a game without a winner is a draw
+     */
+    public DifficultyBenchmark(CompiledBoard board, long seed, int maxRounds) {
+        if (board.getStartCount() < 2) throw new IllegalArgumentException("The board needs room for two robots");
+
+        this.board = board;
+        this.seed = seed;
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Measure a tier against the tier below it. The latencies of the tier below are measured in the same games,
+     * but are not recorded.
+     * @param difficulty the tier, not the lowest one
+     * @param games the number of games
+     * @param pool the pool the tiers search in
+     * @return the result of the tier
+     */
+    public Result measure(Difficulty difficulty, int games, ForkJoinPool pool) {
+        if (difficulty.ordinal() == 0) throw new IllegalArgumentException(difficulty + " has no tier below it");
+        Difficulty below = Difficulty.values()[difficulty.ordinal() - 1];
+
+        Result result = new Result(difficulty);
+        RandomSource seeds = new RandomSource(seed);
+        for (int game = 0; game < games; game++) {
+            // the measured tier starts at the first position every other game
+            int measured = game % 2;
+            Strategy[] ai = new Strategy[2];
+            ai[measured] = difficulty.createStrategy(pool);
+            ai[1 - measured] = below.createStrategy(pool);
+
+            GameEngine engine = new GameEngine(board, 2, seeds.nextLong());
+            for (int rounds = 0; !engine.isOver() && rounds < maxRounds; rounds++) {
+                engine.startRound();
+                for (RobotState robot : engine.getRobots()) {
+                    if (robot.isDead()) continue;
+
+                    engine.dealCards(robot);
+                    long start = System.nanoTime();
+                    robot.setProgram(ai[robot.getId()].program(engine, robot));
+                    if (robot.getId() == measured) result.addDecision(System.nanoTime() - start);
+                }
+
+                engine.playRound();
+            }
+
+            result.games++;
+            if (engine.getWinner() != null) {
+                if (engine.getWinner().getId() == measured) result.wins++;
+                else result.losses++;
+            }
+        }
+
+        return result;
+    }
+
+    public static void main(String[] args) {
+        int games = 20;
+        String boardPath = "assets/robot_board.tmx";
+        long seed = System.nanoTime();
+        int maxRounds = 50;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "-games":
+                        games = Integer.parseInt(value);
+                        break;
+                    case "-board":
+                        boardPath = value;
+                        break;
+                    case "-seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "-rounds":
+                        maxRounds = Integer.parseInt(value);
+                        break;
+                    case "-threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        CompiledBoard board = new CompiledBoard(new TmxReader(boardPath));
+        DistanceFieldCache.loadOrBuild(board, DistanceFieldCache.fileFor(boardPath));
+
+        DifficultyBenchmark benchmark = new DifficultyBenchmark(board, seed, maxRounds);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        System.out.println(String.format(Locale.ROOT, "%d games per tier on %s with %d threads, seed %d",
+                games, boardPath, threads, seed));
+        System.out.println(String.format(Locale.ROOT, "%-8s %6s %6s %8s %10s %10s %10s %8s %8s %8s",
+                "Tier", "Depth", "Iters", "Budget", "Decisions", "p50 ms", "p99 ms", "Wins", "Losses", "Win rate"));
+
+        Difficulty[] tiers = Difficulty.values();
+        for (int i = 1; i < tiers.length; i++) {
+            Result result = benchmark.measure(tiers[i], games, pool);
+            Difficulty tier = result.getDifficulty();
+            System.out.println(String.format(Locale.ROOT, "%-8s %6d %6d %6dms %10d %10.2f %10.2f %8d %8d %7.1f%%",
+                    tier.getLabel(), tier.getDepth(), tier.getIterations(), tier.getBudgetMillis(), result.getDecisions(),
+                    result.getLatencyMillis(50), result.getLatencyMillis(99), result.getWins(), result.getLosses(),
+                    100.0 * result.getWins() / result.getGames()));
+        }
+        System.out.println("Each tier played against the tier below it, Medium against Easy");
+
+        pool.shutdown();
+    }
+}
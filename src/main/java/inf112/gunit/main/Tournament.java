@@ -0,0 +1,306 @@
+package inf112.gunit.main;
+
+import inf112.gunit.ai.HardStrategy;
+import inf112.gunit.ai.ProgramCache;
+import inf112.gunit.ai.Strategies;
+import inf112.gunit.ai.Strategy;
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.board.DistanceFieldCache;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RandomSource;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.engine.TmxReader;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays complete games between AI strategies from the command line, without rendering.
+ * The games are spread over all cores with a work-stealing pool.
+ * The strategies are rotated between the start positions, so no strategy always gets the best one.
+ */
+public class Tournament {
+
+    private static final String USAGE = "Usage: Tournament [-games N] [-board path.tmx] [-strategies easy,hard,...] "
+            + "[-seed S] [-rounds maxRoundsPerGame] [-threads T] [-cache true|false]";
+
+    private final CompiledBoard board;
+    private final String[] strategies;
+    private final long seed;
+    private final int maxRounds;
+
+    // the programs the hard AI found before on the board, null to always search
+    private ProgramCache cache;
+
+    /**
+     * The Tournament constructor
+     * @param board the board to play on
+     * @param strategies the names of the strategies, one robot is created for each
+     * @param seed the seed of the tournament, each game gets its own seed from it
+     * @param maxRounds the number of rounds after which a game without a winner is a draw
+     */
+    public Tournament(CompiledBoard board, String[] strategies, long seed, int maxRounds) {
+        if (strategies.length > board.getStartCount()) {
+            throw new IllegalArgumentException("The board only has room for " + board.getStartCount() + " robots");
+        }
+
+        // fail early on unknown strategies
+        for (String name : strategies) Strategies.create(name);
+
+        this.board = board;
+        this.strategies = strategies;
+        this.seed = seed;
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Let the hard AI use the programs found before in the same situation, and store the programs it finds
+     * @param cache the cache of programs for the board, null to always search
+     */
+    public void setProgramCache(ProgramCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Play a number of games
+     * @param games number of games
+     * @param pool the pool to play the games in
+     * @return the combined result of all games
+     */
+    public Result run(int games, ForkJoinPool pool) {
+        return pool.invoke(new GamesTask(0, games));
+    }
+
+    /**
+     * Play a single game of the tournament
+     * @param game the number of the game, which decides its seed and start positions
+     * @return the result of the game
+     */
+    public Result playGame(int game) {
+        int n = strategies.length;
+        GameEngine engine = new GameEngine(board, n, new RandomSource(seed + game).nextLong());
+
+        // the strategy of the robot at each start position
+        int[] strategyOf = new int[n];
+        Strategy[] ai = new Strategy[n];
+        for (int i = 0; i < n; i++) {
+            strategyOf[i] = (i + game) % n;
+            ai[i] = Strategies.create(strategies[strategyOf[i]], cache);
+        }
+
+        int rounds = 0;
+        while (!engine.isOver() && rounds < maxRounds) {
+            engine.startRound();
+            for (RobotState robot : engine.getRobots()) {
+                if (robot.isDead()) continue;
+
+                engine.dealCards(robot);
+                robot.setProgram(ai[robot.getId()].program(engine, robot));
+            }
+
+            engine.playRound();
+            rounds++;
+        }
+
+        Result result = new Result(n);
+        result.games = 1;
+        result.rounds = rounds;
+        for (RobotState robot : engine.getRobots()) result.deaths += RobotState.LIFE_TOKENS - robot.getLifeTokens();
+
+        for (Strategy strategy : ai) {
+            if (strategy instanceof HardStrategy) {
+                result.tableProbes += ((HardStrategy) strategy).getTableProbes();
+                result.tableHits += ((HardStrategy) strategy).getTableHits();
+            }
+        }
+
+        if (engine.getWinner() != null) result.wins[strategyOf[engine.getWinner().getId()]]++;
+        else result.draws++;
+
+        return result;
+    }
+
+    /**
+     * Plays a range of games, splitting the range in two until a single game is left
+     */
+    private class GamesTask extends RecursiveTask<Result> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        GamesTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= 1) {
+                return (to > from) ? playGame(from) : new Result(strategies.length);
+            }
+
+            int mid = (from + to) >>> 1;
+            GamesTask left = new GamesTask(from, mid);
+            left.fork();
+            Result result = new GamesTask(mid, to).compute();
+            result.add(left.join());
+
+            return result;
+        }
+    }
+
+    /**
+     * The combined result of a number of games
+     */
+    public static class Result {
+
+        private int games;
+        private long rounds;
+        private long deaths;
+        private int draws;
+        private long tableProbes;
+        private long tableHits;
+        // wins of each strategy, indexed as the strategies of the tournament
+        private final int[] wins;
+
+        Result(int numOfStrategies) {
+            this.wins = new int[numOfStrategies];
+        }
+
+        void add(Result other) {
+            games += other.games;
+            rounds += other.rounds;
+            deaths += other.deaths;
+            draws += other.draws;
+            tableProbes += other.tableProbes;
+            tableHits += other.tableHits;
+            for (int i = 0; i < wins.length; i++) wins[i] += other.wins[i];
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public long getRounds() {
+            return rounds;
+        }
+
+        public long getDeaths() {
+            return deaths;
+        }
+
+        public int getDraws() {
+            return draws;
+        }
+
+        public int getWins(int strategy) {
+            return wins[strategy];
+        }
+
+        public long getTableProbes() {
+            return tableProbes;
+        }
+
+        public long getTableHits() {
+            return tableHits;
+        }
+    }
+
+    public static void main(String[] args) {
+        int games = 1000;
+        String boardPath = "assets/robot_board.tmx";
+        String[] strategies = {"easy", "hard"};
+        long seed = System.nanoTime();
+        int maxRounds = 50;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean useCache = false;
+
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "-games":
+                        games = Integer.parseInt(value);
+                        break;
+                    case "-board":
+                        boardPath = value;
+                        break;
+                    case "-strategies":
+                        strategies = value.split(",");
+                        break;
+                    case "-seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "-rounds":
+                        maxRounds = Integer.parseInt(value);
+                        break;
+                    case "-threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "-cache":
+                        useCache = Boolean.parseBoolean(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        CompiledBoard board = new CompiledBoard(new TmxReader(boardPath));
+        DistanceFieldCache.loadOrBuild(board, DistanceFieldCache.fileFor(boardPath));
+
+        Tournament tournament = new Tournament(board, strategies, seed, maxRounds);
+
+        ProgramCache cache = null;
+        if (useCache) {
+            try {
+                cache = ProgramCache.open(board, ProgramCache.fileFor(boardPath), ProgramCache.DEFAULT_CAPACITY);
+                tournament.setProgramCache(cache);
+            } catch (IOException e) {
+                System.err.println("Could not open the program cache, searching every program: " + e.getMessage());
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        long start = System.nanoTime();
+        Result result = tournament.run(games, pool);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+
+        if (cache != null) {
+            try {
+                cache.close();
+            } catch (IOException e) {
+                System.err.println("Could not write the program cache: " + e.getMessage());
+            }
+        }
+
+        System.out.println(String.format(Locale.ROOT, "Played %d games on %s with %d threads in %.2f s (%.1f games/s), seed %d",
+                result.getGames(), boardPath, threads, seconds, result.getGames() / seconds, seed));
+        System.out.println(String.format(Locale.ROOT, "%-4s %-12s %8s %9s", "#", "Strategy", "Wins", "Win rate"));
+        for (int i = 0; i < strategies.length; i++) {
+            System.out.println(String.format(Locale.ROOT, "%-4d %-12s %8d %8.1f%%",
+                    i, strategies[i], result.getWins(i), 100.0 * result.getWins(i) / result.getGames()));
+        }
+        System.out.println(String.format(Locale.ROOT, "Draws (all robots dead, or no winner after %d rounds): %d", maxRounds, result.getDraws()));
+        System.out.println(String.format(Locale.ROOT, "Average rounds per game: %.2f", (double) result.getRounds() / result.getGames()));
+        System.out.println(String.format(Locale.ROOT, "Average deaths per game: %.2f", (double) result.getDeaths() / result.getGames()));
+        if (result.getTableProbes() > 0) {
+            System.out.println(String.format(Locale.ROOT, "AI transposition table hits: %.1f%% of %d lookups",
+                    100.0 * result.getTableHits() / result.getTableProbes(), result.getTableProbes()));
+        }
+        if (cache != null && cache.getHits() + cache.getMisses() > 0) {
+            System.out.println(String.format(Locale.ROOT, "AI program cache hits: %.1f%% of %d lookups",
+                    100.0 * cache.getHits() / (cache.getHits() + cache.getMisses()), cache.getHits() + cache.getMisses()));
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package inf112.gunit.main;
+
+import inf112.gunit.ai.EvaluationWeights;
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.board.DistanceFieldCache;
+import inf112.gunit.engine.RandomSource;
+import inf112.gunit.engine.TmxReader;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tunes the weights of the hard AI by self-play, with the cross-entropy method.
+ * Each generation samples candidate weights from a normal distribution for each weight,
+ * and measures the win rate of each candidate in headless games against the hard AI with the default weights.
+ * The distribution is then moved towards the best candidates, and narrowed by how much they agree.
+ * All candidates of a generation play the same games, so their win rates are compared on equal terms.
+ */
+public class WeightTuner {
+
+    private static final String USAGE = "Usage: WeightTuner [-board path.tmx] [-generations N] [-candidates N] [-games N] "
+            + "[-opponents N] [-seed S] [-rounds maxRoundsPerGame] [-threads T] [-out path]";
+
+    // the part of the candidates the next distribution is fitted to
+    private static final double ELITE_FRACTION = 0.25;
+
+    // how far the distribution moves towards the best candidates each generation
+    private static final double SMOOTHING = 0.7;
+
+    // the spread of the first generation relative to the default weights, and the smallest spread of a weight
+    private static final double INITIAL_SPREAD = 0.5;
+    private static final double MIN_SIGMA = 10;
+    private static final double SIGMA_FLOOR = 1;
+
+    // the best weights are measured again in this many times as many games, on games they weren't chosen by
+    private static final int VALIDATION_FACTOR = 4;
+
+    private static final Comparator<Candidate> BY_WIN_RATE = new Comparator<Candidate>() {
+        @Override
+        public int compare(Candidate a, Candidate b) {
+            return Double.compare(b.winRate, a.winRate);
+        }
+    };
+
+    private final CompiledBoard board;
+    private final int opponents;
+    private final int games;
+    private final int maxRounds;
+    private final RandomSource random;
+
+    /**
+     * Weights and the win rate they were measured to have
+     */
+    public static class Candidate {
+
+        private final EvaluationWeights weights;
+        private final double winRate;
+
+        Candidate(EvaluationWeights weights, double winRate) {
+            this.weights = weights;
+            this.winRate = winRate;
+        }
+
+        public EvaluationWeights getWeights() {
+            return weights;
+        }
+
+        public double getWinRate() {
+            return winRate;
+        }
+    }
+
+    /**
+     * The WeightTuner constructor
+     * @param board the board to play on
+     * @param opponents the number of robots with the default weights in each game
+     * @param games the number of games each candidate plays
+     * @param maxRounds the number of rounds after which a game without a winner is a draw
+     * @param seed the seed of the tuning, the same seed always gives the same weights
+     */
+    public WeightTuner(CompiledBoard board, int opponents, int games, int maxRounds, long seed) {
+        if (opponents < 1 || opponents + 1 > board.getStartCount()) {
+            throw new IllegalArgumentException("The board has room for 1 to " + (board.getStartCount() - 1) + " opponents");
+        }
+
+        this.board = board;
+        this.opponents = opponents;
+        this.games = games;
+        this.maxRounds = maxRounds;
+        this.random = new RandomSource(seed);
+    }
+
+    /**
+     * Measure the win rate of weights against the default weights
+     * @param weights the weights
+     * @param seed the seed of the games
+     * @param games the number of games
+     * @param pool the pool to play the games in
+     * @return the share of the games won by the robot with the weights
+     */
+    public double winRate(EvaluationWeights weights, long seed, int games, ForkJoinPool pool) {
+        String[] strategies = new String[opponents + 1];
+        strategies[0] = "hard:" + weights;
+        for (int i = 1; i < strategies.length; i++) strategies[i] = "hard";
+
+        Tournament.Result result = new Tournament(board, strategies, seed, maxRounds).run(games, pool);
+        return (double) result.getWins(0) / result.getGames();
+    }
+
+    /**
+     * Search for the best weights
+     * @param generations the number of generations
+     * @param candidates the number of candidates in each generation
+     * @param pool the pool to play the games in
+     * @param log where the progress is written, one line for each generation
+     * @return the best weights of all generations, the mean of the distribution and the default weights,
+     *         with their win rates measured again on the same new games, best first
+     */
+    public Candidate[] tune(int generations, int candidates, ForkJoinPool pool, PrintStream log) {
+        int n = EvaluationWeights.NAMES.length;
+        double[] mean = new double[n];
+        double[] sigma = new double[n];
+        for (int i = 0; i < n; i++) {
+            mean[i] = EvaluationWeights.DEFAULT.get(i);
+            sigma[i] = Math.max(mean[i] * INITIAL_SPREAD, MIN_SIGMA);
+        }
+
+        int elites = Math.max(1, (int) Math.ceil(candidates * ELITE_FRACTION));
+        Candidate best = null;
+
+        for (int generation = 1; generation <= generations; generation++) {
+            long seed = random.nextLong();
+
+            Candidate[] population = new Candidate[candidates];
+            for (int c = 0; c < candidates; c++) {
+                EvaluationWeights weights = sample(mean, sigma);
+                population[c] = new Candidate(weights, winRate(weights, seed, games, pool));
+            }
+
+            Arrays.sort(population, BY_WIN_RATE);
+            if (best == null || population[0].winRate > best.winRate) best = population[0];
+
+            for (int i = 0; i < n; i++) {
+                double eliteMean = 0;
+                for (int e = 0; e < elites; e++) eliteMean += population[e].weights.get(i);
+                eliteMean /= elites;
+
+                double variance = 0;
+                for (int e = 0; e < elites; e++) variance += Math.pow(population[e].weights.get(i) - eliteMean, 2);
+                double eliteSigma = Math.sqrt(variance / elites);
+
+                mean[i] = SMOOTHING * eliteMean + (1 - SMOOTHING) * mean[i];
+                sigma[i] = Math.max(SMOOTHING * eliteSigma + (1 - SMOOTHING) * sigma[i], SIGMA_FLOOR);
+            }
+
+            log.println(String.format(Locale.ROOT, "Generation %d: best %s won %.1f%%, mean %s",
+                    generation, population[0].weights, 100 * population[0].winRate, round(mean)));
+        }
+
+        // the best win rate of a generation is biased upwards, as it is the luckiest of the candidates
+        long seed = random.nextLong();
+        EvaluationWeights[] finalists = {best.weights, round(mean), EvaluationWeights.DEFAULT};
+        Candidate[] result = new Candidate[finalists.length];
+        for (int i = 0; i < finalists.length; i++) {
+            result[i] = new Candidate(finalists[i], winRate(finalists[i], seed, games * VALIDATION_FACTOR, pool));
+        }
+
+        Arrays.sort(result, BY_WIN_RATE);
+        return result;
+    }
+
+    private EvaluationWeights sample(double[] mean, double[] sigma) {
+        int[] values = new int[mean.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (int) Math.max(0, Math.round(mean[i] + sigma[i] * random.nextGaussian()));
+        }
+
+        return new EvaluationWeights(values);
+    }
+
+    private static EvaluationWeights round(double[] mean) {
+        int[] values = new int[mean.length];
+        for (int i = 0; i < values.length; i++) values[i] = (int) Math.max(0, Math.round(mean[i]));
+
+        return new EvaluationWeights(values);
+    }
+
+    public static void main(String[] args) {
+        String boardPath = "assets/robot_board.tmx";
+        int generations = 10;
+        int candidates = 16;
+        int games = 100;
+        int opponents = 1;
+        long seed = System.nanoTime();
+        int maxRounds = 50;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String out = "tuned-weights.txt";
+
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "-board":
+                        boardPath = value;
+                        break;
+                    case "-generations":
+                        generations = Integer.parseInt(value);
+                        break;
+                    case "-candidates":
+                        candidates = Integer.parseInt(value);
+                        break;
+                    case "-games":
+                        games = Integer.parseInt(value);
+                        break;
+                    case "-opponents":
+                        opponents = Integer.parseInt(value);
+                        break;
+                    case "-seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "-rounds":
+                        maxRounds = Integer.parseInt(value);
+                        break;
+                    case "-threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "-out":
+                        out = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        CompiledBoard board = new CompiledBoard(new TmxReader(boardPath));
+        DistanceFieldCache.loadOrBuild(board, DistanceFieldCache.fileFor(boardPath));
+
+        WeightTuner tuner = new WeightTuner(board, opponents, games, maxRounds, seed);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        long start = System.nanoTime();
+        Candidate[] finalists = tuner.tune(generations, candidates, pool, System.out);
+        double minutes = (System.nanoTime() - start) / 60e9;
+        pool.shutdown();
+
+        Candidate best = finalists[0];
+        double defaultRate = 0;
+        for (Candidate candidate : finalists) {
+            if (candidate.getWeights().equals(EvaluationWeights.DEFAULT)) defaultRate = candidate.getWinRate();
+        }
+
+        System.out.println(String.format(Locale.ROOT, "Best weights %s won %.1f%% of %d games, the default weights won %.1f%% (%.1f min)",
+                best.getWeights(), 100 * best.getWinRate(), games * VALIDATION_FACTOR, 100 * defaultRate, minutes));
+
+        try (PrintWriter writer = new PrintWriter(out)) {
+            writer.println("# Weights of the hard AI tuned on " + boardPath + " against " + opponents + " robot(s) with the default weights");
+            writer.println(String.format(Locale.ROOT, "# %d generations of %d candidates playing %d games each, seed %d",
+                    generations, candidates, games, seed));
+            writer.println("# " + Arrays.toString(EvaluationWeights.NAMES) + ", use as the strategy hard:<weights>");
+            writer.println("weights=" + best.getWeights());
+            writer.println(String.format(Locale.ROOT, "win_rate=%.4f", best.getWinRate()));
+            writer.println(String.format(Locale.ROOT, "default_win_rate=%.4f", defaultRate));
+            writer.println("validation_games=" + games * VALIDATION_FACTOR);
+        } catch (FileNotFoundException e) {
+            System.err.println("Could not write the weights to " + out + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package inf112.gunit.player.card;
 
-import java.util.Random;
+import inf112.gunit.engine.RandomSource;
 
 /**
  * MovementCard is a ProgramCard that contains a distance
@@ -11,15 +11,25 @@ public class MovementCard extends ProgramCard {
     private final int distance;
 
     /**
-     * The MovementCard constructor
+     * The MovementCard constructor, drawing the priority from an unseeded source
      *
      * @param distance the amount of distance
      */
     public MovementCard(int distance) {
+        this(distance, RandomSource.unseeded());
+    }
+
+    /**
+     * The MovementCard constructor
+     *
+     * @param distance the amount of distance
+     * @param random the source to draw the priority from
+     */
+    public MovementCard(int distance, RandomSource random) {
         super(CardType.MOVEMENT);
         this.distance = distance;
         this.cardName = "Movement Card";
-        this.setPriority();
+        this.setPriority(random);
     }
 
     /**
@@ -31,8 +41,7 @@ public class MovementCard extends ProgramCard {
     }
 
     @Override
-    void setPriority() {
-        Random r = new Random();
+    void setPriority(RandomSource r) {
         switch (distance) {
             case 1:
                 this.priority = (r.nextInt(16) + 49) * 10;
@@ -1,5 +1,7 @@
 package inf112.gunit.player.card;
 
+import inf112.gunit.engine.RandomSource;
+
 /**
  * ProgramCard is an abstract superclass for the different types of ProgramCards
  */
@@ -28,8 +30,9 @@ public abstract class ProgramCard implements Comparable<ProgramCard>{
 
     /**
      * Set priority according to CardType and distance/rotation values.
+     * @param random the source to draw the priority from
      */
-    abstract void setPriority();
+    abstract void setPriority(RandomSource random);
 
     /**
      * Get the priority of the card
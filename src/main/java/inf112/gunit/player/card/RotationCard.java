@@ -1,6 +1,6 @@
 package inf112.gunit.player.card;
 
-import java.util.Random;
+import inf112.gunit.engine.RandomSource;
 
 /**
  * RotationCard is a ProgramCard that contains
@@ -14,16 +14,26 @@ public class RotationCard extends ProgramCard {
     private final boolean clockwise;
 
     /**
-     * The RotationCard constructor
+     * The RotationCard constructor, drawing the priority from an unseeded source
      * @param rotations number of rotations
      * @param clockwise true if rotations are clockwise, false if counter-clockwise
      */
     public RotationCard(int rotations, boolean clockwise) {
+        this(rotations, clockwise, RandomSource.unseeded());
+    }
+
+    /**
+     * The RotationCard constructor
+     * @param rotations number of rotations
+     * @param clockwise true if rotations are clockwise, false if counter-clockwise
+     * @param random the source to draw the priority from
+     */
+    public RotationCard(int rotations, boolean clockwise, RandomSource random) {
         super(CardType.ROTATION);
         this.rotations = rotations;
         this.cardName = "Rotation Card";
         this.clockwise = clockwise;
-        this.setPriority();
+        this.setPriority(random);
     }
 
     /**
@@ -43,8 +53,7 @@ public class RotationCard extends ProgramCard {
     }
 
     @Override
-    void setPriority() {
-        Random r = new Random();
+    void setPriority(RandomSource r) {
 
         if (rotations == 2) {
             this.priority = (r.nextInt(5) + 1) * 10;
@@ -0,0 +1,32 @@
+package inf112.gunit.screens;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+
+/**
+ * Renders the layers of the board into a batch that is shared with the rest of the frame
+ */
+public class BoardRenderer extends OrthogonalTiledMapRenderer {
+
+    /**
+     * The BoardRenderer constructor
+     * @param map the map of the board
+     * @param unitScale the number of world units per pixel of the tiles
+     * @param batch the shared batch, which the renderer doesn't dispose
+     */
+    public BoardRenderer(TiledMap map, float unitScale, Batch batch) {
+        super(map, unitScale, batch);
+    }
+
+    /**
+     * Draw the visible layers of the board, the same as render without beginning and ending the batch.
+     * The projection of the batch is set by setView
+     */
+    public void renderLayers() {
+        AnimatedTiledMapTile.updateAnimationBaseTime();
+        for (MapLayer layer : map.getLayers()) renderMapLayer(layer);
+    }
+}
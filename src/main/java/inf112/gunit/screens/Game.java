@@ -4,40 +4,60 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
-import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.math.Matrix4;
 import inf112.gunit.GameState;
+import inf112.gunit.ai.Difficulty;
+import inf112.gunit.ai.EasyStrategy;
+import inf112.gunit.ai.HintService;
+import inf112.gunit.ai.ProgramCache;
+import inf112.gunit.ai.Strategy;
+import inf112.gunit.assets.Assets;
+import inf112.gunit.assets.GameSounds;
 import inf112.gunit.board.Board;
-import inf112.gunit.board.Direction;
+import inf112.gunit.board.DistanceFieldCache;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
 import inf112.gunit.hud.Hud;
 import inf112.gunit.main.Main;
 import inf112.gunit.player.Robot;
 import inf112.gunit.player.card.ProgramCard;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * The Game class is a screen which is rendered
- * when the Play-button is pressed in menu
+ * when the Play-button is pressed in menu.
+ * The rules are executed by a GameEngine, the screen decides when to execute them and renders the result.
  */
 public class Game extends InputAdapter implements Screen {
 
     public final float tileScale;
 
-    public SpriteBatch batch;
-
     private Hud hud;
 
     private static final int INTERVAL = 30;
 
+    private static final String MAP_PATH = "assets/robot_board.tmx";
+
+    // the AI searches for programs on all cores while the player is choosing cards,
+    // and uses the best program found within the budget of its difficulty
+    private static final ForkJoinPool AI_POOL = new ForkJoinPool();
+
     private GameState state;
     private boolean gameIsOver = false;
+    private boolean disposed = false;
 
     private int tick;
 
@@ -46,28 +66,64 @@ public class Game extends InputAdapter implements Screen {
     private final MapProperties props;
 
     private final Board board;
+    private final GameEngine engine;
 
     private final Robot[] robots;
     private final Robot playerRobot;
 
+    // the AI programming each robot, null for the player
+    private final Strategy[] strategies;
+
+    // the programs being planned by the AI this round, null for the player
+    private final ArrayList<Future<ProgramCard[]>> plans = new ArrayList<>();
+
+    // the player has submitted a program, and is waiting for the AI to finish
+    private boolean playerIsDone = false;
+
+    // suggests programs to the player while choosing cards, if turned on in the hud
+    private final HintService hints = new HintService(AI_POOL);
+
+    // the programs the Hard AI has found on the board, kept between games. Null if no robot is Hard,
+    // or the cache couldn't be opened
+    private ProgramCache programCache;
+    private boolean hintsEnabled = false;
+
     private OrthographicCamera camera;
-    private OrthogonalTiledMapRenderer tileRenderer;
+    // the board, the robots and the hud are all drawn through Main.batch, in that order, in one pass
+    private BoardRenderer tileRenderer;
+    private final Matrix4 screenProjection = new Matrix4().setToOrtho2D(0, 0, Main.WIDTH, Main.HEIGHT);
+
+    // the draw calls, texture binds and sprites of each frame, null unless turned on,
+    // since counting them intercepts every GL call
+    private RenderStats renderStats;
     
     private Music background_music;
 
+    // the sound effects, played as the engine executes the game. The testing constructor has none
+    private GameSounds sounds;
+
     private int phase;
     private int cardIdx;
     private ArrayList<ProgramCard> roundCards = new ArrayList<>();
 
-    private boolean easyMode;
+    /**
+     * Create a game where all AI robots have the same difficulty
+     * @param main takes a main
+     * @param difficulty the difficulty of the AI robots
+     * @param numOfPlayers number of players
+     */
+    public Game(Main main, Difficulty difficulty, int numOfPlayers) {
+        this(main, sameDifficulty(difficulty, numOfPlayers));
+    }
 
     /**
      * The Game constructor
      * @param main takes a main
-     * @param numOfPlayers number of players
+     * @param difficulties the difficulty of each robot, the first robot is the players and its difficulty is not used.
+     *                     The number of difficulties is the number of players
      */
-    public Game(Main main, boolean easyMode, int numOfPlayers) {
-        this.easyMode = easyMode;
+    public Game(Main main, Difficulty[] difficulties) {
+        int numOfPlayers = difficulties.length;
         if (numOfPlayers > 4) {
             System.err.println("Number of players cant be greater than 4!!");
             this.dispose();
@@ -79,23 +135,34 @@ public class Game extends InputAdapter implements Screen {
         }
 
         this.main = main;
-        this.map = new TmxMapLoader().load("assets/robot_board.tmx");
+        this.map = new TmxMapLoader().load(MAP_PATH);
         this.robots = new Robot[numOfPlayers];
-        this.batch = new SpriteBatch();
         props = map.getProperties();
         board = new Board(this);
+        // load the distance fields before the AI and the hints need them, instead of building them on their first search
+        DistanceFieldCache.loadOrBuild(board.getCompiledBoard(), DistanceFieldCache.fileFor(MAP_PATH));
+        engine = new GameEngine(board.getCompiledBoard(), numOfPlayers, System.nanoTime());
         phase = 0;
         cardIdx = 0;
         tick = 0;
 
         //initialise robots
         for (int i = 0; i < numOfPlayers; i++) {
-            Robot p = new Robot(this, i, board.getStartPosition(i));
-            robots[i] = p;
+            map.getLayers().get("start_" + i).setVisible(true);
+            robots[i] = new Robot(this, engine.getRobot(i));
         }
 
         // set the controllable robot (for testing)
         playerRobot = robots[0];
+        // the first difficulty is the players, and isn't used
+        if (Arrays.asList(difficulties).subList(1, numOfPlayers).contains(Difficulty.HARD)) {
+            try {
+                programCache = ProgramCache.open(board.getCompiledBoard(), ProgramCache.fileFor(MAP_PATH), ProgramCache.DEFAULT_CAPACITY);
+            } catch (IOException e) {
+                System.err.println("Could not open the program cache, searching every program: " + e.getMessage());
+            }
+        }
+        strategies = createStrategies(difficulties);
         hud = new Hud(Main.batch, this);
 
         int mapWidth = props.get("width", Integer.class);
@@ -116,8 +183,11 @@ public class Game extends InputAdapter implements Screen {
         background_music.setVolume(0.05f);
         background_music.play();
 
+        sounds = new GameSounds(Assets.SOUNDS.acquire(), engine.split());
+        engine.addListener(sounds);
+
         // set the tile renderer and add the camera view to it
-        tileRenderer = new OrthogonalTiledMapRenderer(map, (float) 1 / (tileWidth) * (tileHeight));
+        tileRenderer = new BoardRenderer(map, (float) 1 / (tileWidth) * (tileHeight), Main.batch);
         tileRenderer.setView(camera);
 
         newRound();
@@ -142,22 +212,134 @@ public class Game extends InputAdapter implements Screen {
         this.robots = new Robot[numOfPlayers];
         props = map.getProperties();
         board = new Board(this);
+        engine = new GameEngine(board.getCompiledBoard(), numOfPlayers, System.nanoTime());
         phase = 0;
         cardIdx = 0;
         tick = 0;
 
         for (int i = 0; i < numOfPlayers; i++) {
-            Robot p = new Robot(this, i, board.getStartPosition(i));
-            robots[i] = p;
+            robots[i] = new Robot(this, engine.getRobot(i));
         }
 
         tileScale = Main.HEIGHT / (float) map.getProperties().get("height", Integer.class);
 
         playerRobot = robots[0];
+        strategies = createStrategies(sameDifficulty(Difficulty.HARD, numOfPlayers));
 
         newRound();
     }
 
+    private static Difficulty[] sameDifficulty(Difficulty difficulty, int numOfPlayers) {
+        Difficulty[] difficulties = new Difficulty[Math.max(numOfPlayers, 0)];
+        Arrays.fill(difficulties, difficulty);
+        return difficulties;
+    }
+
+    /**
+     * Create the strategies of the AI robots
+     * @param difficulties the difficulty of each robot
+     * @return a strategy for each robot, null for the players robot
+     */
+    private Strategy[] createStrategies(Difficulty[] difficulties) {
+        Strategy[] result = new Strategy[robots.length];
+        for (int i = 0; i < robots.length; i++) {
+            if (robots[i] != playerRobot) result[i] = difficulties[i].createStrategy(AI_POOL, programCache);
+        }
+        return result;
+    }
+
+    /**
+     * Start planning the programs of the AI robots in the background, after the cards have been dealt.
+     * The engine is not changed while the player is choosing cards, so the AI can read it from other threads.
+     */
+    private void startPlanning() {
+        plans.clear();
+        for (final Robot r : robots) {
+            final Strategy strategy = strategies[r.getId()];
+            if (strategy == null) {
+                plans.add(null);
+                continue;
+            }
+
+            plans.add(AI_POOL.submit(new Callable<ProgramCard[]>() {
+                @Override
+                public ProgramCard[] call() {
+                    return strategy.program(engine, r.getState());
+                }
+            }));
+        }
+    }
+
+    /**
+     * Start searching for a hint for the cards the player has chosen so far, cancelling the search for the previous choice.
+     * Called when the cards are dealt and whenever the player chooses a card.
+     */
+    public void updateHint() {
+        if (hintsEnabled && state == GameState.ROBOT_PROGRAMMING && !playerIsDone && !playerRobot.isPoweredDown()) {
+            hints.request(engine, playerRobot.getState(), playerRobot.getProgramBuffer());
+        } else {
+            hints.cancel();
+        }
+    }
+
+    /**
+     * Turn the hints for the player on or off
+     * @param enabled true to search for hints, false otherwise
+     */
+    public void setHintsEnabled(boolean enabled) {
+        hintsEnabled = enabled;
+        updateHint();
+    }
+
+    public boolean isHintsEnabled() {
+        return hintsEnabled;
+    }
+
+    /**
+     * Get the best program found so far for the cards the player has chosen
+     * @return the program starting with the chosen cards, or null if hints are off or nothing has been found yet
+     */
+    public ProgramCard[] getHint() {
+        return hintsEnabled ? hints.getHint() : null;
+    }
+
+    /**
+     * Get the number of registers looked ahead for the current hint
+     * @return the number of registers, 0 if there is no hint
+     */
+    public int getHintDepth() {
+        return hintsEnabled ? hints.getHintDepth() : 0;
+    }
+
+    /**
+     * Check if the AI has finished planning the programs of all robots
+     * @return true if all programs are planned, false otherwise
+     */
+    private boolean planningIsDone() {
+        for (Future<ProgramCard[]> plan : plans) {
+            if (plan != null && !plan.isDone()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Set the programs planned by the AI on the robots. If planning failed, the easy AI is used instead.
+     */
+    private void programAIRobots() {
+        for (Robot r : robots) {
+            Future<ProgramCard[]> plan = plans.get(r.getId());
+            if (plan == null) continue;
+
+            try {
+                r.setProgram(plan.get());
+            } catch (InterruptedException | ExecutionException e) {
+                System.err.println("Planning the program of robot " + r.getId() + " failed: " + e);
+                r.setProgram(new EasyStrategy().program(engine, r.getState()));
+            }
+        }
+        plans.clear();
+    }
+
     @Override
     public void show() {
         // not in use
@@ -171,9 +353,14 @@ public class Game extends InputAdapter implements Screen {
     public void gameOver(Robot robot) {
         gameIsOver = true;
         state = GameState.SETUP;
+        for (Future<ProgramCard[]> plan : plans) {
+            if (plan != null) plan.cancel(true);
+        }
+        hints.cancel();
         if (background_music != null) background_music.stop();
-        this.dispose();
+        // the game over screen acquires the shared sprites before the game releases them
         if (main != null) main.setScreen(new GameOver(main, robot));
+        this.dispose();
     }
 
     /**
@@ -183,24 +370,12 @@ public class Game extends InputAdapter implements Screen {
     private void logic() {
         switch (this.state) {
             case SETUP:
-                for (Robot r : robots) {
-                    r.dealCards();
-                    if (!r.equals(playerRobot)) {
-                        ProgramCard[] p = new ProgramCard[5];
-                        ArrayList<ProgramCard> p_list;
-                        if (easyMode) p_list = r.easyAI(board.getFlagPositions());
-                        else p_list = r.hardAI(board.getFlagPositions());
-
-                        for (int i = 0; i < p_list.size(); i++) {
-                            p[i] = p_list.get(i);
-                        }
-                        
-                        r.setProgram(p);
-                    }
-                }
+                for (Robot r : robots) r.dealCards();
+                startPlanning();
                 if (!playerRobot.isPoweredDown())
                     hud.updateCards();
                 state = GameState.ROBOT_PROGRAMMING;
+                updateHint();
                 break;
             case ROBOT_PROGRAMMING:
                 if (!playerRobot.isPoweredDown()) {
@@ -209,9 +384,17 @@ public class Game extends InputAdapter implements Screen {
                         playerRobot.setProgram(program);
                         playerRobot.isDonePicking = false;
                         hud.clearCards();
-                        newPhase();
+                        playerIsDone = true;
+                        hints.cancel();
                     }
-                } else newPhase();
+                } else playerIsDone = true;
+
+                // wait for the AI by checking again next frame, never by blocking the frame
+                if (playerIsDone && planningIsDone()) {
+                    playerIsDone = false;
+                    programAIRobots();
+                    newPhase();
+                }
                 break;
             case PROGRAM_CARD_EXECUTION:
                 // check if all cards this phase have been performed
@@ -225,25 +408,13 @@ public class Game extends InputAdapter implements Screen {
                 map.getLayers().get("laser_beams").setVisible(true);
 
                 if (tick % INTERVAL == 0) {
-                    board.outOfMapTrigger();
-                    board.conveyExpress();
-                    board.conveyRegular();
-                    board.rotateGears();
-                    board.holes();
-                    board.lasersFire();
-                    board.robotsFire();
-
-                    // Calls die() on robot if it has 10 or more damageMarkers.
-                    for (Robot robot : robots){
-                        if (robot.getDamageMarkers() >= 10)
-                            robot.die();
-                    }
+                    engine.executeBoardElements();
 
                     // This will make the game quit once the player has no LifeTokens left.
                     if (robots[0].isDead())
                         gameOver(robots[0]);
-
-                    board.flags();
+                    else if (engine.getWinner() != null)
+                        gameOver(robots[engine.getWinner().getId()]);
 
                     // initialise a new phase
                     if (phase >= 4) {
@@ -265,49 +436,39 @@ public class Game extends InputAdapter implements Screen {
 
     }
 
-    /**
-     * Checks if a robot is standing on a hole.
-     * If the robot is standing on a hole, trigger the hole mechanism.
-     *
-     * @param robot the robot to check
-     * @return true if the robot is standing on a hole, false otherwise
-     */
-    public boolean fallIntoHole(Robot robot) {
-        TiledMapTileLayer holes = (TiledMapTileLayer) map.getLayers().get("holes");
-
-        if (holes.getCell((int) robot.getPositionX(), (int) robot.getPositionY()) != null) {
-            board.holes();
-            return true;
-        }
-        return false;
-    }
-
     @Override
     public void render(float v) {
         Gdx.gl.glClearColor(0, 0, 0, 1);
-        tileRenderer.getBatch().begin();
+        if (renderStats != null) renderStats.beginFrame();
 
         // handle the game-logic
         logic();
+        // the game is over, and the game over screen is shown from the next frame
+        if (disposed) return;
 
         // update the robot rendering
         for (Robot robot : robots)
             robot.update();
 
-        tileRenderer.getBatch().end();
-        // render the tile-map
+        // the board, with the laser beams as one of its layers, in the projection of the camera
+        SpriteBatch batch = Main.batch;
         tileRenderer.setView(camera);
-        tileRenderer.render();
-
-        Main.batch.setProjectionMatrix(hud.stage.getCamera().combined);
-        hud.draw();
-
+        batch.setColor(Color.WHITE);
         batch.begin();
+        tileRenderer.renderLayers();
+
+        // the robots on top of the board, in screen coordinates
+        batch.setProjectionMatrix(screenProjection);
         for (Robot r : robots) {
             r.draw(batch);
         }
+
+        // the hud last, on top of everything
+        hud.draw(batch);
         batch.end();
 
+        if (renderStats != null) renderStats.endFrame();
+
         // increase the game tick
         tick++;
     }
@@ -317,13 +478,9 @@ public class Game extends InputAdapter implements Screen {
      */
     private void newRound() {
         for (Robot robot : robots) {
-            if (robot.isPoweredDown()) {
-                robot.setPoweredDown(false);
-                if (robot.getPowerDownDesire()) robot.updatePowerDownDesire();
-                hud.resetPowerDownButton();
-            }
-            if (robot.getPowerDownDesire()) robot.setPoweredDown(true);
+            if (robot.isPoweredDown()) hud.resetPowerDownButton();
         }
+        engine.startRound();
 
         phase = 0;
         state = GameState.SETUP;
@@ -334,20 +491,9 @@ public class Game extends InputAdapter implements Screen {
      * Resets some variables, and retrieves cards from the robots
      */
     private void newPhase() {
-        roundCards = new ArrayList<>();
+        roundCards = engine.startPhase(phase);
         cardIdx = 0;
 
-        for (Robot robot : robots) {
-            roundCards.add(robot.getProgram()[phase]);
-            // When new phase starts, robots will be able to search and shoot again.
-            robot.setHasFired(false);
-            robot.setHasSearched(false);
-        }
-
-        //sort cards by priority
-        Collections.sort(roundCards);
-        Collections.reverse(roundCards);
-
         state = GameState.PROGRAM_CARD_EXECUTION;
     }
 
@@ -355,132 +501,11 @@ public class Game extends InputAdapter implements Screen {
      * Used for performing the appropriate program card in the current phase
      */
     private void doTurn() {
-        // TODO: Get rid of the for-loop here by storing a 'currentRobot' as a field variable?
         ProgramCard card = roundCards.get(cardIdx);
+        RobotState owner = engine.ownerOf(card, phase);
 
-        for (Robot robot : robots) {
-            if (card.equals(robot.getProgram()[phase])) {
-                if (!robot.isPoweredDown()) robot.doTurn(card);
-                cardIdx++;
-                break;
-            }
-        }
-    }
-
-    /**
-     * Check if a given position at x- and y-coordinate is free
-     * (basically means that, it doesn't contain a player)
-     * @param x the desired x coordinate
-     * @param y the desired y coordinate
-     * @return true if position has pla
-     */
-    private boolean positionIsFree(Direction dir, int x, int y) {
-        // TODO: dont use for-loop here, find a more efficient way
-        // perhaps storing player-layer id's in a global variable?
-
-        for (int i = 0; i < robots.length; i++) {
-            if (((TiledMapTileLayer) map.getLayers().get("player_" + i)).getCell(x, y) != null)
-                return false;
-        }
-
-        // wallCell is the cell you are trying to move to
-        // prevCell is the cell you are currently standing on, aka the cell you are moving from
-        // Also checks for lasers, since they are also walls
-        TiledMapTileLayer.Cell wallCell = ((TiledMapTileLayer) map.getLayers().get("walls")).getCell(x, y);
-        TiledMapTileLayer.Cell laserCell = ((TiledMapTileLayer) map.getLayers().get("lasers")).getCell(x, y);
-        TiledMapTileLayer.Cell prevCell = null;
-        TiledMapTileLayer.Cell prevLaserCell = null;
-
-        // Gets the cell you are currently on (before moving) by flipping the direction you are
-        // trying to move to, and getting the cell at those coordinates
-        if (Direction.flip(dir).equals(Direction.NORTH)) {
-            prevCell = ((TiledMapTileLayer) map.getLayers().get("walls")).getCell(x, y + 1);
-            prevLaserCell = ((TiledMapTileLayer) map.getLayers().get("lasers")).getCell(x, y + 1);
-        }
-        else if (Direction.flip(dir).equals(Direction.EAST)) {
-            prevCell = ((TiledMapTileLayer) map.getLayers().get("walls")).getCell(x + 1, y);
-            prevLaserCell = ((TiledMapTileLayer) map.getLayers().get("lasers")).getCell(x + 1, y);
-        }
-        else if (Direction.flip(dir).equals(Direction.SOUTH)) {
-            prevCell = ((TiledMapTileLayer) map.getLayers().get("walls")).getCell(x, y - 1);
-            prevLaserCell = ((TiledMapTileLayer) map.getLayers().get("lasers")).getCell(x, y - 1);
-        }
-        else if (Direction.flip(dir).equals(Direction.WEST)) {
-            prevCell = ((TiledMapTileLayer) map.getLayers().get("walls")).getCell(x - 1, y);
-            prevLaserCell = ((TiledMapTileLayer) map.getLayers().get("lasers")).getCell(x - 1, y);
-        }
-        // Gets the direction the wall is facing, if the cell you are trying to move to has a wall
-        if (wallCell != null) {
-           Direction wallDir = Direction.lookup(wallCell.getTile().getProperties().get("direction").toString());
-           // If the wall on the cell you are trying to move to is not facing you,
-            // return true. Else return false.
-           return !dir.equals(Direction.flip(wallDir));
-        }
-
-        if (laserCell != null) {
-            // The direction of a laser is in the direction it shoots, so the actual wall is in the opposite direction
-            // of the direction property of the laser
-            Direction laserDir = Direction.lookup(laserCell.getTile().getProperties().get("direction").toString());
-
-            return !dir.equals(laserDir);
-        }
-
-        // Gets the direction the wall is facing, if the cell you are currently on has a wall
-        if (prevCell != null) {
-            Direction prevDir = Direction.lookup(prevCell.getTile().getProperties().get("direction").toString());
-            // If the wall on the cell you are currently on is not facing you,
-            // return true. Else return false.
-            return !dir.equals(prevDir);
-        }
-
-        if (prevLaserCell != null) {
-            Direction prevLaserDir = Direction.lookup(prevLaserCell.getTile().getProperties().get("direction").toString());
-
-            return !dir.equals(Direction.flip(prevLaserDir));
-        }
-
-        // Return true if nothing is in the way
-        return true;
-    }
-
-    /**
-     * Check if a move is valid, called by the player class
-     * !!Currently returns false if player actually can move, just not the distance intended to
-     * @param x the desired x-position to move to
-     * @param y the desired y-position to move to
-     * @return true if move is possible, false otherwise
-     */
-    public boolean moveIsValid(Robot robot, Direction dir, int x, int y) {
-        if (x >= 0 && x < props.get("width", Integer.class) && y >= 0 && y < props.get("height", Integer.class)) {
-            boolean isFree = positionIsFree(dir, x, y);
-            if (isFree)
-                return isFree;
-        }
-        else {
-            return true;
-        }   
-        // Bumps into wall, receives one damage token
-        robot.handleDamage(1);
-
-        return false;
-    }
-
-    /**
-     * Searches for robots in the direction the Robot shooter is facing.
-     * Calls handleDamage() on Robot target if there is a target, with shooter.getPower() as the amount of damage.
-     * After that it sets hasFired and hasSearched to true on Robot shooter.
-     * @param x is the targets x position.
-     * @param y is the targets y position.
-     * @param shooter is the robot that is doing the shooting.
-     */
-    public void searchAndDestroy(int x, int y, Robot shooter){
-        for (Robot target : robots) {
-            if ((int) target.getPositionX() == x && (int) target.getPositionY() == y) {
-                target.handleDamage(shooter.getPower());
-                shooter.setHasFired(true);
-                shooter.setHasSearched(true);
-            }
-        }
+        if (owner != null) robots[owner.getId()].doTurn(card);
+        cardIdx++;
     }
 
     /**
@@ -499,6 +524,22 @@ public class Game extends InputAdapter implements Screen {
         return playerRobot;
     }
 
+    /**
+     * Get the board of the game
+     * @return the board
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Get the engine executing the rules of the game
+     * @return the game engine
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
     /**
      * Get the TiledMap of the board
      * @return the TiledMap of the board
@@ -523,6 +564,28 @@ public class Game extends InputAdapter implements Screen {
         return state;
     }
 
+    /**
+     * Turn the counting of the draw calls, texture binds and sprites of each frame on or off
+     * @param enabled true to count them, false otherwise
+     */
+    public void setRenderStatsEnabled(boolean enabled) {
+        if (enabled && renderStats == null) {
+            renderStats = new RenderStats(Gdx.graphics);
+            renderStats.enable();
+        } else if (!enabled && renderStats != null) {
+            renderStats.disable();
+            renderStats = null;
+        }
+    }
+
+    /**
+     * Get the draw calls, texture binds and sprites of the last frame
+     * @return the render stats, or null if they aren't counted
+     */
+    public RenderStats getRenderStats() {
+        return renderStats;
+    }
+
     @Override
     public void resize(int i, int i1) {
         // not in use
@@ -545,6 +608,30 @@ public class Game extends InputAdapter implements Screen {
 
     @Override
     public void dispose() {
-        // not in use
+        if (disposed) return;
+        disposed = true;
+
+        setRenderStatsEnabled(false);
+
+        if (programCache != null) {
+            try {
+                programCache.close();
+            } catch (IOException e) {
+                System.err.println("Could not write the program cache: " + e.getMessage());
+            }
+            programCache = null;
+        }
+
+        // release the shared sprites of the hud and the robots, and the sounds
+        if (sounds != null) {
+            engine.removeListener(sounds);
+            Assets.SOUNDS.release();
+        }
+        if (hud != null) hud.dispose();
+        if (robots != null) {
+            for (Robot r : robots) {
+                if (r != null) r.dispose();
+            }
+        }
     }
 }
@@ -141,8 +141,7 @@ public class GameOver extends RRScreen {
 
     @Override
     public void dispose() {
-        skin.dispose();
-        atlas.dispose();
+        releaseAssets();
         font.dispose();
         stage.dispose();
         batch.dispose();
@@ -3,7 +3,6 @@ package inf112.gunit.screens;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
@@ -17,6 +16,7 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import inf112.gunit.ai.Difficulty;
 import inf112.gunit.main.Main;
 
 /**
@@ -64,55 +64,38 @@ public class Menu extends RRScreen {
         mainTable.top();
         skin.getFont("font").getData().setScale(3);
 
-        Texture logotexture = new Texture(Gdx.files.internal("logo.png"));
-        Image logo = new Image(logotexture);
+        Image logo = new Image(sprites.findRegion("logo"));
 
-        final TextButton easyplayButton = new TextButton("Easy", skin);
-        final TextButton hardplayButton = new TextButton("Hard", skin);
         final TextButton quitButton = new TextButton("Quit", skin);
         numplayers = new Slider(2,4,1,false, skin);
         numplayerstext = new TextField("Number of AI opponents: ", skin);
         numplayerstext.setAlignment(Align.center);
 
-
-        // Listeners
-        hardplayButton.addListener(new ClickListener(){
-            @Override
-            public void enter(InputEvent event, float x, float y, int pointer, Actor fromActor) {
-                super.enter(event, x, y, pointer, fromActor);
-                hardplayButton.setStyle(skin.get("toggle", TextButton.TextButtonStyle.class));
-            }
-
-            @Override
-            public void exit(InputEvent event, float x, float y, int pointer, Actor toActor) {
-                super.enter(event, x, y, pointer, toActor);
-                hardplayButton.setStyle(skin.get("default", TextButton.TextButtonStyle.class));
-            }
-
-            @Override
-            public void clicked(InputEvent event, float x, float y) {
-                main.setScreen(new Game(main, false, (int) numplayers.getValue()));
-            }
-        });
-        easyplayButton.addListener(new ClickListener(){
-            @Override
-            public void enter(InputEvent event, float x, float y, int pointer, Actor fromActor) {
-                super.enter(event, x, y, pointer, fromActor);
-                hardplayButton.setStyle(skin.get("toggle", TextButton.TextButtonStyle.class));
-            }
-
-            @Override
-            public void exit(InputEvent event, float x, float y, int pointer, Actor toActor) {
-                super.enter(event, x, y, pointer, toActor);
-                hardplayButton.setStyle(skin.get("default", TextButton.TextButtonStyle.class));
-            }
-
-            @Override
-            public void clicked(InputEvent event, float x, float y) {
-                main.setScreen(new Game(main, true, (int) numplayers.getValue()));
-            }
-        });
-
+        // a play button for each difficulty tier of the AI
+        Table difficultyTable = new Table();
+        for (final Difficulty difficulty : Difficulty.values()) {
+            final TextButton playButton = new TextButton(difficulty.getLabel(), skin);
+            playButton.addListener(new ClickListener(){
+                @Override
+                public void enter(InputEvent event, float x, float y, int pointer, Actor fromActor) {
+                    super.enter(event, x, y, pointer, fromActor);
+                    playButton.setStyle(skin.get("toggle", TextButton.TextButtonStyle.class));
+                }
+
+                @Override
+                public void exit(InputEvent event, float x, float y, int pointer, Actor toActor) {
+                    super.enter(event, x, y, pointer, toActor);
+                    playButton.setStyle(skin.get("default", TextButton.TextButtonStyle.class));
+                }
+
+                @Override
+                public void clicked(InputEvent event, float x, float y) {
+                    main.setScreen(new Game(main, difficulty, (int) numplayers.getValue()));
+                    dispose();
+                }
+            });
+            difficultyTable.add(playButton).width(300).height(100).pad(20);
+        }
 
         quitButton.addListener(new ClickListener(){
             @Override
@@ -125,9 +108,7 @@ public class Menu extends RRScreen {
         //Add buttons to table
         mainTable.add(logo);
         mainTable.row();
-        mainTable.add(easyplayButton).width(400).height(100).pad(padding);
-        mainTable.row();
-        mainTable.add(hardplayButton).width(400).height(100).pad(padding);
+        mainTable.add(difficultyTable).pad(padding);
         mainTable.row();
         mainTable.add(numplayerstext).width(700).height(100).pad(padding);
         mainTable.row();
@@ -177,7 +158,7 @@ public class Menu extends RRScreen {
 
     @Override
     public void dispose() {
-        skin.dispose();
-        atlas.dispose();
+        stage.dispose();
+        releaseAssets();
     }
 }
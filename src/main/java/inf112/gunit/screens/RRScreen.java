@@ -1,16 +1,28 @@
 package inf112.gunit.screens;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import inf112.gunit.assets.Assets;
 
-// RoboRally screen with assets loaded in
+// RoboRally screen with the shared skin and sprites acquired, released by releaseAssets.
+// The next screen is created before the previous one is disposed, so the sprites stay loaded between games
 public abstract class RRScreen implements Screen {
 
-    protected TextureAtlas atlas = new TextureAtlas("assets/clean-crispy/skin/clean-crispy-ui.atlas");
-    protected Skin  skin = new Skin(Gdx.files.internal("assets/clean-crispy/skin/clean-crispy-ui.json"), atlas);
+    protected Skin skin = Assets.SKIN.acquire();
+    protected TextureAtlas sprites = Assets.SPRITES.acquire();
+    private boolean released = false;
 
     protected int width = 1000;
     protected int height = 1000;
+
+    /**
+     * Release the shared skin and sprites of the screen, called when the screen is disposed
+     */
+    protected void releaseAssets() {
+        if (released) return;
+        released = true;
+        Assets.SKIN.release();
+        Assets.SPRITES.release();
+    }
 }
@@ -0,0 +1,98 @@
+package inf112.gunit.screens;
+
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+
+import java.util.Locale;
+
+/**
+ * Counts the draw calls, texture binds and sprites of each frame, by intercepting the GL calls.
+ * Each frame is measured between beginFrame and endFrame, and the counts of the last frame are kept until the next.
+ */
+public class RenderStats {
+
+    // a sprite is drawn as two triangles, six indices
+    private static final int INDICES_PER_SPRITE = 6;
+
+    private final GLProfiler profiler;
+
+    private int drawCalls;
+    private int textureBindings;
+    private int shaderSwitches;
+    private int sprites;
+    private long frames;
+
+    /**
+     * The RenderStats constructor
+     * @param graphics the graphics to intercept the GL calls of
+     */
+    public RenderStats(Graphics graphics) {
+        profiler = new GLProfiler(graphics);
+    }
+
+    /**
+     * Start intercepting the GL calls
+     */
+    public void enable() {
+        profiler.enable();
+    }
+
+    /**
+     * Stop intercepting the GL calls
+     */
+    public void disable() {
+        profiler.disable();
+    }
+
+    /**
+     * Start counting a frame
+     */
+    public void beginFrame() {
+        profiler.reset();
+    }
+
+    /**
+     * Stop counting a frame, keeping its counts
+     */
+    public void endFrame() {
+        drawCalls = profiler.getDrawCalls();
+        textureBindings = profiler.getTextureBindings();
+        shaderSwitches = profiler.getShaderSwitches();
+        sprites = (int) (profiler.getVertexCount().total / INDICES_PER_SPRITE);
+        frames++;
+    }
+
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    public int getTextureBindings() {
+        return textureBindings;
+    }
+
+    public int getShaderSwitches() {
+        return shaderSwitches;
+    }
+
+    /**
+     * Get the number of sprites drawn in the last frame, including the tiles of the board and the glyphs of text
+     * @return the number of sprites
+     */
+    public int getSprites() {
+        return sprites;
+    }
+
+    /**
+     * Get the number of frames counted
+     * @return the number of frames
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d draw calls, %d texture binds, %d shader switches, %d sprites",
+                drawCalls, textureBindings, shaderSwitches, sprites);
+    }
+}
@@ -0,0 +1,106 @@
+package inf112.gunit.ai;
+
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.engine.TmxReader;
+import inf112.gunit.player.card.ProgramCard;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for checking that every difficulty tier programs the robots within its budget
+ */
+public class DifficultyTests {
+
+    private static final CompiledBoard BOARD = new CompiledBoard(new TmxReader("assets/board_new.tmx"));
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void everyTierProgramsFiveCardsFromTheHand() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            GameEngine engine = new GameEngine(BOARD, 2, 42);
+            RobotState robot = engine.getRobot(0);
+            engine.dealCards(robot);
+
+            ProgramCard[] program = difficulty.createStrategy(pool).program(engine, robot);
+
+            assertEquals(difficulty.toString(), 5, new HashSet<>(Arrays.asList(program)).size());
+            assertTrue(robot.getCardDeck().containsAll(Arrays.asList(program)));
+        }
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void hardTierReusesCachedPrograms() throws IOException, InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        ProgramCache cache = ProgramCache.open(BOARD, folder.newFile("board.programs"), 1024);
+
+        GameEngine engine = new GameEngine(BOARD, 2, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+
+        ProgramCard[] searched = Difficulty.HARD.createStrategy(pool, cache).program(engine, robot);
+        cache.flush();
+        ProgramCard[] cached = Difficulty.HARD.createStrategy(pool, cache).program(engine, robot);
+
+        assertArrayEquals(searched, cached);
+        assertEquals(1, cache.getHits());
+
+        cache.close();
+        pool.shutdown();
+    }
+
+    @Test
+    public void shallowSearchEvaluatesFewerRegisters() {
+        GameEngine engine = new GameEngine(BOARD, 1, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+
+        ProgramPlanner full = new ProgramPlanner(engine, robot);
+        full.plan();
+        ProgramPlanner shallow = new ProgramPlanner(engine, robot);
+        shallow.setDepth(Difficulty.MEDIUM.getDepth());
+        ProgramCard[] program = shallow.plan();
+
+        assertEquals(5, new HashSet<>(Arrays.asList(program)).size());
+        assertTrue(shallow.getEvaluated() < full.getEvaluated());
+    }
+
+    @Test
+    public void serialSearchStopsAtTheDeadline() {
+        GameEngine engine = new GameEngine(BOARD, 1, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+
+        ProgramPlanner full = new ProgramPlanner(engine, robot);
+        full.plan();
+        ProgramPlanner planner = new ProgramPlanner(engine, robot);
+        ProgramCard[] program = planner.plan(System.nanoTime() - 1);
+
+        assertEquals(5, new HashSet<>(Arrays.asList(program)).size());
+        // the clock is only checked every 256 registers, a smaller search always completes
+        assertTrue(planner.hasTimedOut() || planner.getEvaluated() < 256);
+        assertTrue(planner.getEvaluated() <= full.getEvaluated());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void depthBeyondTheRegistersIsRejected() {
+        new HardStrategy(null, 0, 6, null, EvaluationWeights.DEFAULT);
+    }
+}
@@ -0,0 +1,39 @@
+package inf112.gunit.ai;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for checking that weights are written and read the way the WeightTuner and Strategies use them
+ */
+public class EvaluationWeightsTests {
+
+    @Test
+    public void parsedWeightsAreWrittenTheSameWay() {
+        EvaluationWeights weights = EvaluationWeights.parse("900:12:250:40");
+
+        assertEquals(900, weights.getRegisterCost());
+        assertEquals(12, weights.getDistanceCost());
+        assertEquals(250, weights.getDamageCost());
+        assertEquals(40, weights.getHazardCost());
+        assertEquals("900:12:250:40", weights.toString());
+        assertEquals(EvaluationWeights.DEFAULT, EvaluationWeights.parse(EvaluationWeights.DEFAULT.toString()));
+    }
+
+    @Test
+    public void weightedHardStrategyIsNamedByItsWeights() {
+        assertEquals("hard:900:12:250:40", Strategies.create("hard:900:12:250:40").toString());
+        assertEquals("hard", Strategies.create("hard:" + EvaluationWeights.DEFAULT).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingWeightIsRejected() {
+        EvaluationWeights.parse("900:12:250");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWeightIsRejected() {
+        Strategies.create("hard:900:-12:250:40");
+    }
+}
@@ -0,0 +1,127 @@
+package inf112.gunit.ai;
+
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.engine.TmxReader;
+import inf112.gunit.player.card.ProgramCard;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for checking that hints are searched in the background, and follow the cards the player has chosen
+ */
+public class HintServiceTests {
+
+    private static final CompiledBoard BOARD = new CompiledBoard(new TmxReader("assets/board_new.tmx"));
+
+    private ExecutorService executor;
+    private HintService hints;
+
+    @Before
+    public void initialise() {
+        executor = Executors.newSingleThreadExecutor();
+        hints = new HintService(executor);
+    }
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void awaitSearch() throws InterruptedException {
+        for (int i = 0; i < 500 && !hints.isDone(); i++) Thread.sleep(10);
+        assertTrue(hints.isDone());
+    }
+
+    @Test
+    public void finishedHintIsTheBestProgram() throws InterruptedException {
+        GameEngine engine = new GameEngine(BOARD, 2, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+
+        hints.request(engine, robot, Collections.<ProgramCard>emptyList());
+        awaitSearch();
+
+        assertEquals(ProgramPlanner.REGISTERS, hints.getHintDepth());
+        assertArrayEquals(new ProgramPlanner(engine, robot).plan(), hints.getHint());
+    }
+
+    @Test
+    public void searchPlansOnACopyOfTheGame() throws InterruptedException {
+        GameEngine engine = new GameEngine(BOARD, 2, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+        ProgramCard[] best = new ProgramPlanner(engine, robot).plan();
+
+        // the game goes on before the search has started, without changing its hint
+        hints.request(engine, robot, Collections.<ProgramCard>emptyList());
+        engine.place(engine.getRobot(1), robot.getX() + 1, robot.getY());
+        robot.getCardDeck().clear();
+        awaitSearch();
+
+        assertArrayEquals(best, hints.getHint());
+    }
+
+    @Test
+    public void hintStartsWithTheChosenCards() throws InterruptedException {
+        GameEngine engine = new GameEngine(BOARD, 2, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+
+        // the two last cards of the hand, which the best program might not start with
+        List<ProgramCard> hand = robot.getCardDeck();
+        List<ProgramCard> chosen = new ArrayList<>(hand.subList(hand.size() - 2, hand.size()));
+        Collections.reverse(chosen);
+
+        hints.request(engine, robot, chosen);
+        awaitSearch();
+
+        ProgramCard[] hint = hints.getHint();
+        assertNotNull(hint);
+        assertEquals(chosen, Arrays.asList(hint).subList(0, 2));
+        assertEquals(5, hint.length);
+    }
+
+    @Test
+    public void cancelledRequestHasNoHint() throws InterruptedException {
+        GameEngine engine = new GameEngine(BOARD, 2, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+
+        hints.request(engine, robot, Collections.<ProgramCard>emptyList());
+        hints.cancel();
+
+        assertNull(hints.getHint());
+        assertEquals(0, hints.getHintDepth());
+        assertTrue(hints.isDone());
+    }
+
+    @Test
+    public void newRequestReplacesTheOldHint() throws InterruptedException {
+        GameEngine engine = new GameEngine(BOARD, 2, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+
+        hints.request(engine, robot, Collections.<ProgramCard>emptyList());
+        ProgramCard first = robot.getCardDeck().get(robot.getCardDeck().size() - 1);
+        hints.request(engine, robot, Collections.singletonList(first));
+        awaitSearch();
+
+        assertEquals(first, hints.getHint()[0]);
+    }
+}
@@ -0,0 +1,89 @@
+package inf112.gunit.ai;
+
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.engine.TmxReader;
+import inf112.gunit.player.card.ProgramCard;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for checking the programs chosen by the Monte Carlo AI
+ */
+public class MonteCarloStrategyTests {
+
+    private static final CompiledBoard BOARD = new CompiledBoard(new TmxReader("assets/robot_board.tmx"));
+
+    private static ProgramCard[] programFor(long seed) {
+        GameEngine engine = new GameEngine(BOARD, 3, seed);
+        for (RobotState robot : engine.getRobots()) engine.dealCards(robot);
+
+        return new MonteCarloStrategy(200, 0, 8).program(engine, engine.getRobot(1));
+    }
+
+    @Test
+    public void programIsFiveDifferentCardsFromTheHand() {
+        GameEngine engine = new GameEngine(BOARD, 3, 42);
+        for (RobotState robot : engine.getRobots()) engine.dealCards(robot);
+        RobotState robot = engine.getRobot(1);
+
+        ProgramCard[] program = new MonteCarloStrategy(200, 0, 8).program(engine, robot);
+
+        assertEquals(5, program.length);
+        assertEquals(5, new HashSet<>(Arrays.asList(program)).size());
+        assertTrue(robot.getCardDeck().containsAll(Arrays.asList(program)));
+    }
+
+    @Test
+    public void damagedAndPoweredDownRobotsAreSimulated() {
+        GameEngine engine = new GameEngine(BOARD, 3, 42);
+        for (RobotState robot : engine.getRobots()) engine.dealCards(robot);
+        engine.getRobot(0).handleDamage(6);
+        engine.getRobot(2).setPoweredDown(true);
+        RobotState robot = engine.getRobot(1);
+
+        ProgramCard[] program = new MonteCarloStrategy(200, 0, 8).program(engine, robot);
+
+        assertEquals(5, new HashSet<>(Arrays.asList(program)).size());
+        assertTrue(robot.getCardDeck().containsAll(Arrays.asList(program)));
+    }
+
+    @Test
+    public void sameSeedGivesSameProgram() {
+        ProgramCard[] first = programFor(7);
+        ProgramCard[] second = programFor(7);
+
+        for (int i = 0; i < first.length; i++) {
+            assertEquals(first[i].toString(), second[i].toString());
+            assertEquals(first[i].getPriority(), second[i].getPriority());
+        }
+    }
+
+    @Test
+    public void simulationsDontChangeTheGame() {
+        GameEngine engine = new GameEngine(BOARD, 3, 42);
+        for (RobotState robot : engine.getRobots()) engine.dealCards(robot);
+        int[] before = positions(engine);
+
+        new MonteCarloStrategy(200, 0, 8).program(engine, engine.getRobot(0));
+
+        assertArrayEquals(before, positions(engine));
+    }
+
+    private static int[] positions(GameEngine engine) {
+        int[] positions = new int[engine.getRobots().length * 3];
+        for (RobotState robot : engine.getRobots()) {
+            positions[robot.getId() * 3] = robot.getX();
+            positions[robot.getId() * 3 + 1] = robot.getY();
+            positions[robot.getId() * 3 + 2] = robot.getDamageMarkers();
+        }
+        return positions;
+    }
+}
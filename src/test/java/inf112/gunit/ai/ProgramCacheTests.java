@@ -0,0 +1,128 @@
+package inf112.gunit.ai;
+
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.engine.TmxReader;
+import inf112.gunit.player.card.ProgramCard;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for checking that planned programs are stored by situation, and survive reopening the cache
+ */
+public class ProgramCacheTests {
+
+    private static final CompiledBoard BOARD = new CompiledBoard(new TmxReader("assets/board_new.tmx"));
+    private static final CompiledBoard OTHER_BOARD = new CompiledBoard(new TmxReader("assets/robot_board.tmx"));
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static ProgramPlanner dealAndPlan(GameEngine engine, RobotState robot) {
+        engine.dealCards(robot);
+        return new ProgramPlanner(engine, robot);
+    }
+
+    @Test
+    public void encodedProgramDecodesToTheSameEffects() {
+        GameEngine engine = new GameEngine(BOARD, 1, 42);
+        RobotState robot = engine.getRobot(0);
+        ProgramPlanner planner = dealAndPlan(engine, robot);
+
+        ProgramCard[] program = planner.plan();
+        ProgramCard[] decoded = planner.decode(ProgramPlanner.encode(program));
+
+        assertNotNull(decoded);
+        assertEquals(ProgramPlanner.encode(program), ProgramPlanner.encode(decoded));
+        assertEquals(planner.getBestScore(), planner.evaluate(decoded));
+    }
+
+    @Test
+    public void storedProgramIsFoundAfterReopening() throws Exception {
+        File file = folder.newFile("board.programs");
+        GameEngine engine = new GameEngine(BOARD, 1, 42);
+        RobotState robot = engine.getRobot(0);
+        ProgramPlanner planner = dealAndPlan(engine, robot);
+        ProgramCard[] program = planner.plan();
+
+        ProgramCache cache = ProgramCache.open(BOARD, file, 1024);
+        assertNull(cache.lookup(planner));
+        cache.store(planner, program, planner.getBestScore());
+        cache.close();
+
+        ProgramCache reopened = ProgramCache.open(BOARD, file, 1024);
+        ProgramCard[] cached = reopened.lookup(planner);
+        reopened.close();
+
+        // cards with the same effect are interchangeable
+        assertNotNull(cached);
+        assertEquals(ProgramPlanner.encode(program), ProgramPlanner.encode(cached));
+        assertEquals(1, reopened.getHits());
+    }
+
+    @Test
+    public void programIsNotFoundWithADifferentHand() throws Exception {
+        ProgramCache cache = ProgramCache.open(BOARD, folder.newFile("board.programs"), 1024);
+        GameEngine engine = new GameEngine(BOARD, 1, 42);
+        RobotState robot = engine.getRobot(0);
+
+        ProgramPlanner planner = dealAndPlan(engine, robot);
+        cache.store(planner, planner.plan(), planner.getBestScore());
+        cache.flush();
+
+        assertNotNull(cache.lookup(planner));
+
+        // the same robot on the same board, dealt another hand
+        GameEngine otherEngine = new GameEngine(BOARD, 1, 43);
+        ProgramPlanner other = dealAndPlan(otherEngine, otherEngine.getRobot(0));
+        assertNotEquals(planner.situation(), other.situation());
+        assertNull(cache.lookup(other));
+
+        cache.close();
+    }
+
+    @Test
+    public void cacheOfAnotherBoardIsCleared() throws Exception {
+        File file = folder.newFile("board.programs");
+        GameEngine engine = new GameEngine(BOARD, 1, 42);
+        RobotState robot = engine.getRobot(0);
+        ProgramPlanner planner = dealAndPlan(engine, robot);
+
+        ProgramCache cache = ProgramCache.open(BOARD, file, 1024);
+        cache.store(planner, planner.plan(), planner.getBestScore());
+        cache.close();
+
+        ProgramCache other = ProgramCache.open(OTHER_BOARD, file, 1024);
+        other.close();
+
+        ProgramCache reopened = ProgramCache.open(BOARD, file, 1024);
+        assertNull(reopened.lookup(planner));
+        reopened.close();
+    }
+
+    @Test
+    public void betterProgramIsNotReplacedByAWorseOne() throws Exception {
+        ProgramCache cache = ProgramCache.open(BOARD, folder.newFile("board.programs"), 1024);
+        GameEngine engine = new GameEngine(BOARD, 1, 42);
+        RobotState robot = engine.getRobot(0);
+        ProgramPlanner planner = dealAndPlan(engine, robot);
+
+        ProgramCard[] best = planner.plan();
+        ProgramCard[] worse = planner.planCandidates(2).get(1);
+        cache.store(planner, best, planner.getBestScore());
+        cache.store(planner, worse, planner.evaluate(worse));
+        cache.flush();
+
+        assertEquals(ProgramPlanner.encode(best), ProgramPlanner.encode(cache.lookup(planner)));
+        cache.close();
+    }
+}
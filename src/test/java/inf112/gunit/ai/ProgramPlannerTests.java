@@ -0,0 +1,145 @@
+package inf112.gunit.ai;
+
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.engine.TmxReader;
+import inf112.gunit.player.card.ProgramCard;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for checking that the planner simulates programs the same way as the game engine
+ */
+public class ProgramPlannerTests {
+
+    private static final CompiledBoard BOARD = new CompiledBoard(new TmxReader("assets/board_new.tmx"));
+
+    @Test
+    public void programIsFiveDifferentCardsFromTheHand() {
+        GameEngine engine = new GameEngine(BOARD, 2, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+
+        ProgramCard[] program = new ProgramPlanner(engine, robot).plan();
+
+        assertEquals(5, program.length);
+        assertEquals(5, new HashSet<>(Arrays.asList(program)).size());
+        assertTrue(robot.getCardDeck().containsAll(Arrays.asList(program)));
+    }
+
+    @Test
+    public void searchIsBoundedByTheOrderingsOfTheHand() {
+        GameEngine engine = new GameEngine(BOARD, 1, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+
+        ProgramPlanner planner = new ProgramPlanner(engine, robot);
+        planner.plan();
+
+        // 9 + 9*8 + 9*8*7 + 9*8*7*6 + 9*8*7*6*5 prefixes without any pruning
+        assertTrue(planner.getEvaluated() > 0);
+        assertTrue(planner.getEvaluated() <= 18729);
+    }
+
+    @Test
+    public void planIsNullWhenTheRobotIsOffTheBoard() {
+        GameEngine engine = new GameEngine(BOARD, 1, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+        engine.place(robot, -1, 0);
+
+        assertNull(new ProgramPlanner(engine, robot).plan());
+    }
+
+    @Test
+    public void plannedRoundEndsWhereThePlannerPredicted() {
+        for (long seed = 0; seed < 20; seed++) {
+            GameEngine engine = new GameEngine(BOARD, 1, seed);
+            RobotState robot = engine.getRobot(0);
+
+            for (int round = 0; round < 5 && !engine.isOver(); round++) {
+                engine.dealCards(robot);
+                ProgramPlanner planner = new ProgramPlanner(engine, robot);
+                ProgramCard[] program = planner.plan();
+                assertNotNull(program);
+
+                int lives = robot.getLifeTokens();
+                robot.setProgram(program);
+                engine.playRound();
+
+                // only compare rounds where the robot survived, a destroyed robot is respawned by the engine
+                if (robot.getLifeTokens() < lives || engine.getWinner() != null) break;
+
+                int state = ProgramPlanner.pack(BOARD.index(robot.getX(), robot.getY()), robot.getDirection().ordinal(),
+                        robot.getDamageMarkers(), robot.getFlagsCollected());
+                assertEquals("seed " + seed + ", round " + round, planner.getBestScore(), planner.score(state));
+            }
+        }
+    }
+
+    @Test
+    public void parallelPlanIsTheSameAsSerialPlan() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        for (long seed = 0; seed < 20; seed++) {
+            GameEngine engine = new GameEngine(BOARD, 2, seed);
+            RobotState robot = engine.getRobot(0);
+            engine.dealCards(robot);
+
+            ProgramPlanner planner = new ProgramPlanner(engine, robot);
+            ProgramCard[] serial = planner.plan();
+            ProgramCard[] parallel = planner.plan(pool, Long.MAX_VALUE);
+
+            assertFalse(planner.hasTimedOut());
+            assertArrayEquals("seed " + seed, serial, parallel);
+        }
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void expiredDeadlineStillGivesAProgram() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        GameEngine engine = new GameEngine(BOARD, 1, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+
+        ProgramPlanner planner = new ProgramPlanner(engine, robot);
+        ProgramCard[] program = planner.plan(pool, System.nanoTime() - 1);
+
+        assertEquals(5, program.length);
+        assertEquals(5, new HashSet<>(Arrays.asList(program)).size());
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void candidatesStopAtTheDeadline() {
+        GameEngine engine = new GameEngine(BOARD, 1, 42);
+        RobotState robot = engine.getRobot(0);
+        engine.dealCards(robot);
+
+        ProgramPlanner planner = new ProgramPlanner(engine, robot);
+        List<ProgramCard[]> all = planner.planCandidates(8);
+
+        // the first program is always found, even when the deadline has passed
+        List<ProgramCard[]> expired = planner.planCandidates(8, System.nanoTime() - 1);
+        assertTrue(expired.size() >= 1 && expired.size() <= all.size());
+        for (ProgramCard[] program : expired) {
+            assertEquals(5, new HashSet<>(Arrays.asList(program)).size());
+            assertTrue(robot.getCardDeck().containsAll(Arrays.asList(program)));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package inf112.gunit.ai;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for checking the lookups and replacements of the transposition table
+ */
+public class TranspositionTableTests {
+
+    @Test
+    public void secondVisitIsAHit() {
+        TranspositionTable table = new TranspositionTable(4);
+
+        assertFalse(table.visit(0, 1));
+        assertTrue(table.visit(0, 1));
+        assertFalse(table.visit(1, 1));
+
+        assertEquals(3, table.getProbes());
+        assertEquals(1, table.getHits());
+    }
+
+    @Test
+    public void fullTableReplacesTheShallowestEntry() {
+        // a table of a single bucket
+        TranspositionTable table = new TranspositionTable(1);
+
+        table.visit(1, 5);
+        table.visit(2, 1);
+        table.visit(3, 3);
+
+        assertEquals(1, table.getReplacements());
+        assertTrue(table.visit(1, 5));
+        assertTrue(table.visit(3, 3));
+        assertFalse(table.visit(2, 1));
+    }
+
+    @Test
+    public void clearRemovesAllEntries() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.visit(42, 2);
+        table.clear();
+
+        assertFalse(table.visit(42, 2));
+    }
+}
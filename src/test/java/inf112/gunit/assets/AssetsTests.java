@@ -0,0 +1,66 @@
+package inf112.gunit.assets;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import inf112.gunit.main.GdxTestRunner;
+import inf112.gunit.screens.Game;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+@RunWith(GdxTestRunner.class)
+public class AssetsTests {
+
+    private TextureAtlas atlas;
+
+    @Before
+    public void initialise() {
+        atlas = Assets.packSprites();
+    }
+
+    @After
+    public void dispose() {
+        atlas.dispose();
+    }
+
+    @Test
+    public void allSpritesArePackedOnOneTexture() {
+        assertEquals(1, atlas.getTextures().size);
+    }
+
+    @Test
+    public void sheetsAreSplitIntoIndexedFrames() {
+        assertEquals(4, atlas.findRegions(Assets.ROBOT).size);
+        assertEquals(6, atlas.findRegions(Assets.CARD).size);
+        assertEquals(4, atlas.findRegions(Assets.FLAG).size);
+
+        TextureAtlas.AtlasRegion card = atlas.findRegion(Assets.CARD, 4);
+        assertEquals(4, card.index);
+        assertEquals(75, card.getRegionWidth());
+        assertEquals(100, card.getRegionHeight());
+    }
+
+    @Test
+    public void imagesAreNamedByTheirFile() {
+        for (String name : new String[] {"logo", "program_sheet_bg", "damage_token", "damage_token_grey", "life_token",
+                "life_token_grey", "power_down", "power_down_grey", "submit_green", "submit_grey"}) {
+            assertNotNull(name, atlas.findRegion(name));
+        }
+        assertEquals(500, atlas.findRegion("program_sheet_bg").getRegionWidth());
+    }
+
+    @Test
+    public void robotsShareTheAtlasUntilTheGameIsDisposed() {
+        int users = Assets.SPRITES.getUsers();
+        Game game = new Game(4, new TmxMapLoader().load("assets/conveyor_testboard.tmx"));
+        assertEquals(users + 4, Assets.SPRITES.getUsers());
+        assertSame(game.getRobots()[0].getTextureRegion().getTexture(), game.getRobots()[3].getTextureRegion().getTexture());
+
+        game.dispose();
+        game.dispose();
+        assertEquals(users, Assets.SPRITES.getUsers());
+    }
+}
@@ -0,0 +1,71 @@
+package inf112.gunit.assets;
+
+import com.badlogic.gdx.utils.Disposable;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SharedAssetTests {
+
+    private int loads;
+    private int disposals;
+    private SharedAsset<Disposable> asset;
+
+    @Before
+    public void initialise() {
+        loads = 0;
+        disposals = 0;
+        asset = new SharedAsset<Disposable>() {
+            @Override
+            protected Disposable load() {
+                loads++;
+                return new Disposable() {
+                    @Override
+                    public void dispose() {
+                        disposals++;
+                    }
+                };
+            }
+        };
+    }
+
+    @Test
+    public void usersShareTheSameLoad() {
+        Disposable first = asset.acquire();
+        Disposable second = asset.acquire();
+
+        assertSame(first, second);
+        assertEquals(1, loads);
+        assertEquals(2, asset.getUsers());
+    }
+
+    @Test
+    public void disposedWhenTheLastUserReleases() {
+        asset.acquire();
+        asset.acquire();
+
+        asset.release();
+        assertEquals(0, disposals);
+        assertTrue(asset.isLoaded());
+
+        asset.release();
+        assertEquals(1, disposals);
+        assertFalse(asset.isLoaded());
+    }
+
+    @Test
+    public void loadedAgainAfterDisposal() {
+        Disposable first = asset.acquire();
+        asset.release();
+        Disposable second = asset.acquire();
+
+        assertNotSame(first, second);
+        assertEquals(2, loads);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void releaseWithoutUsersThrows() {
+        asset.release();
+    }
+}
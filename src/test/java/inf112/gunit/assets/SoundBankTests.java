@@ -0,0 +1,60 @@
+package inf112.gunit.assets;
+
+import inf112.gunit.main.GdxTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+@RunWith(GdxTestRunner.class)
+public class SoundBankTests {
+
+    private SoundBank sounds;
+
+    @Before
+    public void initialise() {
+        sounds = new SoundBank();
+    }
+
+    @After
+    public void dispose() {
+        sounds.dispose();
+    }
+
+    @Test
+    public void lengthIsReadFromTheWavHeader() {
+        assertEquals(1207, sounds.getLengthMillis(SoundBank.Clip.SLIDE));
+        assertEquals(963, sounds.getLengthMillis(SoundBank.Clip.DAMAGE));
+    }
+
+    @Test
+    public void filesWhichAreNotWavGetTheDefaultLength() {
+        assertEquals(1000, SoundBank.lengthMillis(new byte[] {'O', 'g', 'g', 'S', 0, 0, 0, 0, 0, 0, 0, 0}));
+        assertEquals(1000, SoundBank.lengthMillis(new byte[0]));
+    }
+
+    @Test
+    public void clipIsSkippedWhileAllItsVoicesArePlaying() {
+        SoundBank.Clip clip = SoundBank.Clip.DAMAGE;
+        for (int i = 0; i < clip.getVoices(); i++) assertTrue(sounds.claimVoice(clip, 1000));
+
+        assertFalse(sounds.claimVoice(clip, 1000 + sounds.getLengthMillis(clip) - 1));
+    }
+
+    @Test
+    public void voiceIsFreedWhenItsClipHasPlayed() {
+        SoundBank.Clip clip = SoundBank.Clip.SLIDE;
+        for (int i = 0; i < clip.getVoices(); i++) assertTrue(sounds.claimVoice(clip, 1000));
+
+        assertTrue(sounds.claimVoice(clip, 1000 + sounds.getLengthMillis(clip)));
+    }
+
+    @Test
+    public void clipsHaveTheirOwnVoices() {
+        for (int i = 0; i < SoundBank.Clip.SLIDE.getVoices(); i++) sounds.claimVoice(SoundBank.Clip.SLIDE, 1000);
+
+        assertTrue(sounds.claimVoice(SoundBank.Clip.DAMAGE, 1000));
+    }
+}
@@ -0,0 +1,124 @@
+package inf112.gunit.board;
+
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import inf112.gunit.engine.TmxReader;
+import inf112.gunit.main.GdxTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for checking that the compiled board matches the tiled-map
+ */
+@RunWith(GdxTestRunner.class)
+public class CompiledBoardTests {
+
+    private CompiledBoard board;
+
+    @Before
+    public void initialise() {
+        board = new CompiledBoard(new TiledMapSource(new TmxMapLoader().load("assets/board_new.tmx")));
+    }
+
+    @Test
+    public void dimensionsMatchMap() {
+        assertEquals(10, board.getWidth());
+        assertEquals(10, board.getHeight());
+    }
+
+    @Test
+    public void holesAreCompiled() {
+        assertTrue(board.isHole(3, 3));
+        assertFalse(board.isHole(0, 0));
+    }
+
+    @Test
+    public void conveyorsAreCompiled() {
+        assertTrue(board.isExpress(5, 1));
+        assertEquals(Direction.EAST, board.getConveyorDirection(5, 1));
+        assertTrue(board.isConveyor(3, 9));
+        assertFalse(board.isExpress(3, 9));
+        assertEquals(Direction.SOUTH, board.getConveyorDirection(3, 9));
+        assertNull(board.getConveyorDirection(0, 0));
+    }
+
+    @Test
+    public void gearsWallsAndLasersAreCompiled() {
+        assertEquals(-1, board.getGearRotation(1, 6));
+        assertEquals(1, board.getGearRotation(1, 3));
+        assertEquals(Direction.EAST, board.getWallDirection(2, 2));
+        assertEquals(Direction.EAST, board.getLaserDirection(0, 2));
+        assertEquals(2, board.getLaserDamage(0, 2));
+        assertEquals(6, board.getLaserBeams().length);
+    }
+
+    @Test
+    public void laserBeamsStopAtWalls() {
+        for (LaserBeam beam : board.getLaserBeams()) {
+            if (beam.getStartX() == 0 && beam.getStartY() == 2) {
+                // stopped by the wall on the east edge of (2, 2)
+                assertEquals(Direction.EAST, beam.getDirection());
+                assertEquals(3, beam.getLength());
+                assertEquals(2, beam.distanceTo(2, 2));
+                assertEquals(-1, beam.distanceTo(3, 2));
+                assertEquals(-1, beam.distanceTo(1, 3));
+            }
+        }
+    }
+
+    @Test
+    public void flagsAreCompiled() {
+        assertEquals(1, board.getFlagNumber(0, 5));
+        assertEquals(2, board.getFlagNumber(4, 7));
+        assertEquals(0, board.getFlagNumber(0, 0));
+    }
+
+    @Test
+    public void wallBlocksEdgeFromBothSides() {
+        // the wall at (2, 2) is placed on the east edge
+        assertTrue(board.isBlocked(2, 2, Direction.EAST));
+        assertTrue(board.isBlocked(3, 2, Direction.WEST));
+        assertFalse(board.isBlocked(2, 2, Direction.NORTH));
+        assertFalse(board.isBlocked(1, 2, Direction.EAST));
+    }
+
+    @Test
+    public void laserBlocksEdgeBehindIt() {
+        // the laser at (2, 4) fires west, so it is mounted on the east edge
+        assertTrue(board.isBlocked(2, 4, Direction.EAST));
+        assertTrue(board.isBlocked(3, 4, Direction.WEST));
+        assertFalse(board.isBlocked(2, 4, Direction.WEST));
+    }
+
+    @Test
+    public void positionsOutsideBoardAreEmpty() {
+        assertEquals(0, board.getKinds(-1, 0));
+        assertEquals(0, board.getKinds(0, 10));
+        assertNull(board.getWallDirection(10, 10));
+        assertEquals(0, board.getEdges(-1, -1));
+    }
+
+    @Test
+    public void tmxReaderCompilesSameBoard() {
+        CompiledBoard headless = new CompiledBoard(new TmxReader("assets/board_new.tmx"));
+
+        assertEquals(board.getStartCount(), headless.getStartCount());
+        for (int i = 0; i < board.getStartCount(); i++) assertEquals(board.getStartCell(i), headless.getStartCell(i));
+
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getHeight(); y++) {
+                assertEquals(board.getKinds(x, y), headless.getKinds(x, y));
+                assertEquals(board.getEdges(x, y), headless.getEdges(x, y));
+                assertEquals(board.getConveyorDirection(x, y), headless.getConveyorDirection(x, y));
+                assertEquals(board.getLaserDamage(x, y), headless.getLaserDamage(x, y));
+                assertEquals(board.getGearRotation(x, y), headless.getGearRotation(x, y));
+                assertEquals(board.getFlagNumber(x, y), headless.getFlagNumber(x, y));
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package inf112.gunit.board;
+
+import inf112.gunit.engine.TmxReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for checking the distance fields of the flags, and storing them next to the map
+ */
+public class DistanceFieldTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static CompiledBoard load(String path) {
+        return new CompiledBoard(new TmxReader(path));
+    }
+
+    @Test
+    public void flagIsZeroRegistersAway() {
+        CompiledBoard board = load("assets/robot_board.tmx");
+
+        for (int num = 1; num <= board.getFlagCount(); num++) {
+            int flag = board.getFlagCell(num);
+            for (int facing = 0; facing < 4; facing++) {
+                assertEquals(0, board.getDistanceField(num).getDistance(TransitionTable.state(flag, facing)));
+            }
+        }
+    }
+
+    @Test
+    public void flagIsReachableFromTheStartPositions() {
+        CompiledBoard board = load("assets/robot_board.tmx");
+
+        for (int id = 0; id < board.getStartCount(); id++) {
+            int distance = board.getDistanceField(1).getDistance(TransitionTable.state(board.getStartCell(id), Direction.NORTH.ordinal()));
+            assertTrue(distance > 0);
+        }
+    }
+
+    @Test
+    public void holesAreUnreachable() {
+        CompiledBoard board = load("assets/robot_board.tmx");
+
+        for (int cell = 0; cell < board.getWidth() * board.getHeight(); cell++) {
+            if (board.isHole(cell % board.getWidth(), cell / board.getWidth())) {
+                assertEquals(DistanceField.UNREACHABLE, board.getDistanceField(1).getDistance(TransitionTable.state(cell, 0)));
+            }
+        }
+    }
+
+    @Test
+    public void missingFlagHasNoField() {
+        CompiledBoard board = load("assets/robot_board.tmx");
+
+        assertNull(board.getDistanceField(0));
+        assertNull(board.getDistanceField(board.getFlagCount() + 1));
+    }
+
+    @Test
+    public void storedFieldsAreLoadedUnchanged() throws IOException {
+        File file = new File(folder.getRoot(), "robot_board.dist");
+        CompiledBoard board = load("assets/robot_board.tmx");
+
+        assertFalse(DistanceFieldCache.loadOrBuild(board, file));
+        assertTrue(file.exists());
+
+        CompiledBoard loaded = load("assets/robot_board.tmx");
+        assertTrue(DistanceFieldCache.loadOrBuild(loaded, file));
+
+        for (int num = 1; num <= board.getFlagCount(); num++) {
+            assertArrayEquals(board.getDistanceField(num).getDistances(), loaded.getDistanceField(num).getDistances());
+        }
+    }
+
+    @Test
+    public void fieldsOfAnotherBoardAreNotLoaded() throws IOException {
+        File file = new File(folder.getRoot(), "robot_board.dist");
+        DistanceFieldCache.save(load("assets/robot_board.tmx"), file);
+
+        assertFalse(DistanceFieldCache.load(load("assets/board_new.tmx"), file));
+    }
+}
@@ -2,6 +2,9 @@ package inf112.gunit.board;
 
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.math.Vector2;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.GameListener;
+import inf112.gunit.engine.RobotState;
 import inf112.gunit.main.GdxTestRunner;
 import inf112.gunit.player.Robot;
 import inf112.gunit.screens.Game;
@@ -9,7 +12,12 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests for checking that conveyor mechanics works as expected
@@ -138,4 +146,96 @@ public class LinearConveyorTests {
         board.conveyExpress();
         assertEquals(x-1, (int) robot.getPositionX());
     }
+
+    /**
+     * Test that two robots conveyed onto the same tile
+     * both stay where they are
+     */
+    @Test
+    public void testConveyorsMovingRobotsOntoSameTileCancelBothMoves() {
+        Game game = new Game(2, new TmxMapLoader().load("assets/board_new.tmx"));
+        Robot first = game.getRobots()[0];
+        Robot second = game.getRobots()[1];
+
+        // both conveyors lead to (3, 2)
+        CompiledBoard compiled = game.getBoard().getCompiledBoard();
+        assertEquals(Direction.WEST, compiled.getConveyorDirection(4, 2));
+        assertEquals(Direction.NORTH, compiled.getConveyorDirection(3, 1));
+
+        first.setPosition(new Vector2(4, 2));
+        second.setPosition(new Vector2(3, 1));
+        game.getBoard().conveyRegular();
+
+        assertEquals(new Vector2(4, 2), first.getPosition());
+        assertEquals(new Vector2(3, 1), second.getPosition());
+    }
+
+    /**
+     * Test that two robots on conveyors facing each other
+     * don't pass through each other
+     */
+    @Test
+    public void testConveyorsSwappingRobotsCancelBothMoves() {
+        Game game = new Game(2, new TmxMapLoader().load("assets/board_new.tmx"));
+        GameEngine engine = game.getEngine();
+        RobotState first = engine.getRobot(0);
+        RobotState second = engine.getRobot(1);
+
+        CompiledBoard compiled = engine.getBoard();
+        assertEquals(Direction.EAST, compiled.getConveyorDirection(8, 4));
+        assertEquals(Direction.WEST, compiled.getConveyorDirection(9, 4));
+
+        engine.place(first, 8, 4);
+        engine.place(second, 9, 4);
+        engine.conveyRegular();
+
+        assertEquals(8, first.getX());
+        assertEquals(9, second.getX());
+    }
+
+    /**
+     * Test that a robot conveyed into a hole respawns after all robots are conveyed,
+     * so the result doesn't depend on the order of the robots
+     */
+    @Test
+    public void testRobotConveyedIntoHoleRespawnsAfterAllMoves() {
+        Game game = new Game(2, new TmxMapLoader().load("assets/board_new.tmx"));
+        GameEngine engine = game.getEngine();
+        RobotState faller = engine.getRobot(0);
+        RobotState other = engine.getRobot(1);
+
+        // the conveyor at (3, 2) leads into the hole at (3, 3), the conveyor at (4, 2) leads to (3, 2)
+        CompiledBoard compiled = engine.getBoard();
+        assertEquals(Direction.NORTH, compiled.getConveyorDirection(3, 2));
+        assertTrue(compiled.isHole(3, 3));
+        assertEquals(Direction.WEST, compiled.getConveyorDirection(4, 2));
+
+        engine.place(faller, 3, 2);
+        faller.setBackupMemory(3, 2);
+        engine.place(other, 4, 2);
+        int lives = faller.getLifeTokens();
+
+        final List<String> events = new ArrayList<>();
+        engine.addListener(new GameListener() {
+            @Override
+            public void robotMoved(RobotState robot) {
+                events.add("moved " + robot.getId());
+            }
+
+            @Override
+            public void robotDestroyed(RobotState robot) {
+                events.add("destroyed " + robot.getId());
+            }
+
+            @Override
+            public void robotStatusChanged(RobotState robot) {
+            }
+        });
+        engine.conveyRegular();
+
+        assertEquals(Arrays.asList("moved 0", "moved 1", "destroyed 0"), events);
+        assertEquals(lives - 1, faller.getLifeTokens());
+        assertEquals(3, other.getX());
+        assertEquals(2, other.getY());
+    }
 }
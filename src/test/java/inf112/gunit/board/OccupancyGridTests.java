@@ -0,0 +1,62 @@
+package inf112.gunit.board;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for checking that the occupancy grid keeps track of robots
+ */
+public class OccupancyGridTests {
+
+    private OccupancyGrid grid;
+
+    @Before
+    public void initialise() {
+        grid = new OccupancyGrid(10, 10, 4);
+    }
+
+    @Test
+    public void placedRobotCanBeFound() {
+        grid.place(2, 3, 4);
+        assertEquals(2, grid.robotAt(3, 4));
+        assertTrue(grid.isOccupied(3, 4));
+        assertFalse(grid.isOccupied(4, 3));
+    }
+
+    @Test
+    public void movingRobotLeavesOldCell() {
+        grid.place(1, 3, 4);
+        grid.place(1, 3, 5);
+        assertFalse(grid.isOccupied(3, 4));
+        assertEquals(1, grid.robotAt(3, 5));
+    }
+
+    @Test
+    public void robotOutsideBoardIsRemoved() {
+        grid.place(0, 0, 0);
+        grid.place(0, -1, 0);
+        assertFalse(grid.isOccupied(0, 0));
+        assertEquals(OccupancyGrid.EMPTY, grid.robotAt(-1, 0));
+    }
+
+    @Test
+    public void robotsSharingCellAreOrderedById() {
+        grid.place(3, 5, 5);
+        grid.place(1, 5, 5);
+        grid.place(2, 5, 5);
+
+        assertEquals(1, grid.robotAt(5, 5));
+        assertEquals(2, grid.nextAt(1));
+        assertEquals(3, grid.nextAt(2));
+        assertEquals(OccupancyGrid.EMPTY, grid.nextAt(3));
+
+        grid.remove(2);
+        assertEquals(3, grid.nextAt(1));
+        grid.remove(1);
+        assertEquals(3, grid.robotAt(5, 5));
+    }
+}
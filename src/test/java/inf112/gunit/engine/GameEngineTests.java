@@ -0,0 +1,224 @@
+package inf112.gunit.engine;
+
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.board.Direction;
+import inf112.gunit.player.card.MovementCard;
+import inf112.gunit.player.card.ProgramCard;
+import inf112.gunit.player.card.RotationCard;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for checking that the game engine runs without libGDX
+ */
+public class GameEngineTests {
+
+    private static final CompiledBoard BOARD = new CompiledBoard(new TmxReader("assets/board_new.tmx"));
+
+    private GameEngine engine;
+    private RobotState robot;
+
+    @Before
+    public void initialise() {
+        engine = new GameEngine(BOARD, 2, 42);
+        robot = engine.getRobot(0);
+    }
+
+    @Test
+    public void dealtHandShrinksWithDamage() {
+        RobotState robot = engine.getRobot(0);
+        int[] expected = {9, 8, 7, 6, 5, 5};
+
+        for (int damage = 0; damage < expected.length; damage++) {
+            engine.dealCards(robot);
+            assertEquals(expected[damage], GameEngine.handSize(robot));
+            assertEquals(expected[damage], robot.getCardDeck().size());
+            robot.handleDamage(1);
+        }
+    }
+
+    @Test
+    public void robotsStartOnTheirStartPositions() {
+        for (RobotState r : engine.getRobots()) {
+            int cell = BOARD.getStartCell(r.getId());
+            assertEquals(cell % BOARD.getWidth(), r.getX());
+            assertEquals(cell / BOARD.getWidth(), r.getY());
+            assertEquals(r.getId(), engine.getOccupancy().robotAt(r.getX(), r.getY()));
+        }
+    }
+
+    @Test
+    public void wallStopsMoveAndDamagesRobot() {
+        // the wall at (2, 2) is placed on the east edge
+        engine.place(robot, 1, 2);
+        engine.move(robot, 3, Direction.EAST);
+
+        assertEquals(2, robot.getX());
+        assertEquals(1, robot.getDamageMarkers());
+    }
+
+    @Test
+    public void movingIntoHoleDestroysRobot() {
+        engine.place(robot, 3, 1);
+        robot.setBackupMemory(0, 0);
+        engine.move(robot, 3, Direction.NORTH);
+
+        assertEquals(2, robot.getLifeTokens());
+        assertEquals(0, robot.getX());
+        assertEquals(0, robot.getY());
+    }
+
+    @Test
+    public void programCardsAreExecutedInOrderOfPriority() {
+        RobotState other = engine.getRobot(1);
+        engine.place(robot, 0, 0);
+        engine.place(other, 0, 1);
+        other.setDirection(Direction.EAST);
+
+        ProgramCard[] program = new ProgramCard[5];
+        ProgramCard[] otherProgram = new ProgramCard[5];
+        for (int i = 0; i < 5; i++) {
+            program[i] = new RotationCard(2, true);
+            otherProgram[i] = new RotationCard(2, true);
+        }
+        // the rotation card has a lower priority, so the other robot blocks the move
+        program[0] = new RotationCard(1, true);
+        otherProgram[0] = new MovementCard(3);
+        robot.setProgram(program);
+        other.setProgram(otherProgram);
+
+        engine.executePhase(0);
+
+        assertEquals(Direction.EAST, robot.getDirection());
+        assertEquals(3, other.getX());
+    }
+
+    @Test
+    public void sameSeedGivesSameGame() {
+        GameEngine first = new GameEngine(BOARD, 4, 1234);
+        GameEngine second = new GameEngine(BOARD, 4, 1234);
+
+        for (int round = 0; round < 3; round++) {
+            playRandomRound(first);
+            playRandomRound(second);
+
+            for (int i = 0; i < 4; i++) {
+                RobotState a = first.getRobot(i);
+                RobotState b = second.getRobot(i);
+                assertEquals(a.getX(), b.getX());
+                assertEquals(a.getY(), b.getY());
+                assertEquals(a.getDirection(), b.getDirection());
+                assertEquals(a.getDamageMarkers(), b.getDamageMarkers());
+                assertEquals(a.getLifeTokens(), b.getLifeTokens());
+            }
+        }
+    }
+
+    private void playRandomRound(GameEngine engine) {
+        engine.startRound();
+        for (RobotState r : engine.getRobots()) {
+            engine.dealCards(r);
+            r.setProgram(r.getCardDeck().subList(0, 5).toArray(new ProgramCard[5]));
+        }
+        engine.playRound();
+    }
+
+    @Test
+    public void roundCanBePlayedWithoutGraphics() {
+        for (RobotState r : engine.getRobots()) {
+            engine.dealCards(r);
+            r.setProgram(r.getCardDeck().subList(0, 5).toArray(new ProgramCard[5]));
+        }
+
+        engine.startRound();
+        engine.playRound();
+
+        for (RobotState r : engine.getRobots()) {
+            assertTrue(r.getDamageMarkers() < GameEngine.MAX_DAMAGE);
+            assertFalse(r.getLifeTokens() > 3);
+        }
+    }
+
+    @Test
+    public void copyRestoresTheStateOfAnotherGame() {
+        GameEngine copy = new GameEngine(BOARD, 2, 0);
+        for (RobotState r : engine.getRobots()) {
+            engine.dealCards(r);
+            r.setProgram(r.getCardDeck().subList(0, 5).toArray(new ProgramCard[5]));
+        }
+        engine.playRound();
+
+        copy.copyFrom(engine);
+
+        for (RobotState r : engine.getRobots()) {
+            RobotState c = copy.getRobot(r.getId());
+            assertEquals(r.getX(), c.getX());
+            assertEquals(r.getY(), c.getY());
+            assertEquals(r.getDirection(), c.getDirection());
+            assertEquals(r.getDamageMarkers(), c.getDamageMarkers());
+            assertEquals(r.getLifeTokens(), c.getLifeTokens());
+            if (BOARD.inBounds(r.getX(), r.getY())) assertEquals(r.getId(), copy.getOccupancy().robotAt(c.getX(), c.getY()));
+        }
+    }
+
+    @Test
+    public void listenersAreNotifiedOfMovesAndDestructions() {
+        RecordingListener listener = new RecordingListener();
+        engine.addListener(listener);
+
+        // the wall at (2, 2) stops the robot after one tile
+        engine.place(robot, 1, 2);
+        engine.move(robot, 3, Direction.EAST);
+        assertEquals(1, listener.moves);
+        assertEquals(0, listener.destructions);
+        assertEquals(1, listener.statusChanges);
+
+        // blocked by the wall at once
+        engine.move(robot, 1, Direction.EAST);
+        assertEquals(1, listener.moves);
+
+        engine.place(robot, 3, 1);
+        engine.move(robot, 3, Direction.NORTH);
+        assertEquals(2, listener.moves);
+        assertEquals(1, listener.destructions);
+        assertEquals(3, listener.statusChanges);
+    }
+
+    @Test
+    public void removedListenersAreNotNotified() {
+        RecordingListener listener = new RecordingListener();
+        engine.addListener(listener);
+        engine.removeListener(listener);
+
+        engine.place(robot, 3, 1);
+        engine.move(robot, 3, Direction.NORTH);
+        assertEquals(0, listener.moves);
+        assertEquals(0, listener.destructions);
+    }
+
+    private static class RecordingListener implements GameListener {
+
+        private int moves;
+        private int destructions;
+        private int statusChanges;
+
+        @Override
+        public void robotMoved(RobotState robot) {
+            moves++;
+        }
+
+        @Override
+        public void robotDestroyed(RobotState robot) {
+            destructions++;
+        }
+
+        @Override
+        public void robotStatusChanged(RobotState robot) {
+            statusChanges++;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package inf112.gunit.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for checking that the random source is reproducible
+ */
+public class RandomSourceTests {
+
+    @Test
+    public void sameSeedGivesSameNumbers() {
+        RandomSource a = new RandomSource(7);
+        RandomSource b = new RandomSource(7);
+
+        for (int i = 0; i < 100; i++) assertEquals(a.nextInt(1000), b.nextInt(1000));
+    }
+
+    @Test
+    public void splitSourcesAreIndependentOfEachOther() {
+        RandomSource root = new RandomSource(7);
+        RandomSource first = root.split();
+        RandomSource second = root.split();
+
+        long expected = new RandomSource(7).split().nextLong();
+
+        // drawing from the second source does not change the first
+        second.nextLong();
+        assertEquals(expected, first.nextLong());
+        assertNotEquals(first.nextLong(), second.nextLong());
+    }
+
+    @Test
+    public void boundedIntsAreInRange() {
+        RandomSource random = new RandomSource(7);
+
+        for (int i = 0; i < 1000; i++) {
+            int n = random.nextInt(3);
+            assertTrue(n >= 0 && n < 3);
+        }
+    }
+
+    @Test
+    public void gaussiansHaveMeanZeroAndDeviationOne() {
+        RandomSource random = new RandomSource(7);
+        double sum = 0;
+        double squares = 0;
+
+        for (int i = 0; i < 10000; i++) {
+            double value = random.nextGaussian();
+            sum += value;
+            squares += value * value;
+        }
+
+        assertEquals(0, sum / 10000, 0.05);
+        assertEquals(1, Math.sqrt(squares / 10000), 0.05);
+    }
+}
@@ -0,0 +1,122 @@
+package inf112.gunit.hud;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import inf112.gunit.main.GdxTestRunner;
+import inf112.gunit.main.Main;
+import inf112.gunit.player.Robot;
+import inf112.gunit.player.card.MovementCard;
+import inf112.gunit.player.card.ProgramCard;
+import inf112.gunit.player.card.RotationCard;
+import inf112.gunit.screens.Game;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+@RunWith(GdxTestRunner.class)
+public class HudCardPoolTests {
+
+    private Game game;
+    private Robot robot;
+    private Hud hud;
+    private Graphics graphics;
+
+    @Before
+    public void initialise() {
+        if (Main.font == null) Main.font = new BitmapFont();
+
+        // the graphics of the headless backend can't size a stage
+        graphics = Gdx.graphics;
+        Gdx.graphics = mock(Graphics.class);
+
+        game = new Game(1, new TmxMapLoader().load("assets/board_new.tmx"));
+        robot = game.getPlayerRobot();
+        hud = new Hud(mock(SpriteBatch.class), game);
+    }
+
+    @After
+    public void dispose() {
+        hud.dispose();
+        game.dispose();
+        Gdx.graphics = graphics;
+    }
+
+    @Test
+    public void cardButtonsShowTheDealtCardsInOrder() {
+        robot.dealCards();
+        hud.updateCards();
+
+        List<ProgramCardButton> buttons = cardButtons(hud.stage.getRoot(), new ArrayList<ProgramCardButton>());
+        assertEquals(robot.getCardDeck().size(), buttons.size());
+        for (int i = 0; i < buttons.size(); i++) {
+            assertSame(robot.getCardDeck().get(i), buttons.get(i).getCard());
+            assertEquals(String.valueOf(robot.getCardDeck().get(i).getPriority()), buttons.get(i).getText().toString());
+        }
+    }
+
+    @Test
+    public void cardButtonsAreReusedBetweenRounds() {
+        robot.dealCards();
+        hud.updateCards();
+        List<ProgramCardButton> first = cardButtons(hud.stage.getRoot(), new ArrayList<ProgramCardButton>());
+        int actors = countActors(hud.stage.getRoot());
+
+        hud.clearCards();
+        robot.dealCards();
+        hud.updateCards();
+        List<ProgramCardButton> second = cardButtons(hud.stage.getRoot(), new ArrayList<ProgramCardButton>());
+
+        assertEquals(actors, countActors(hud.stage.getRoot()));
+        for (int i = 0; i < second.size(); i++) {
+            assertSame(first.get(i), second.get(i));
+            assertSame(robot.getCardDeck().get(i), second.get(i).getCard());
+        }
+    }
+
+    @Test
+    public void fewerCardsAreShownWhenTheRobotIsDamaged() {
+        robot.handleDamage(3);
+        robot.dealCards();
+        hud.updateCards();
+
+        assertEquals(6, cardButtons(hud.stage.getRoot(), new ArrayList<ProgramCardButton>()).size());
+    }
+
+    @Test
+    public void facesFollowTheCardSheet() {
+        assertEquals(0, Hud.faceOf(new MovementCard(1)));
+        assertEquals(2, Hud.faceOf(new MovementCard(3)));
+        assertEquals(3, Hud.faceOf(new RotationCard(1, true)));
+        assertEquals(4, Hud.faceOf(new RotationCard(1, false)));
+        assertEquals(5, Hud.faceOf(new RotationCard(2, true)));
+    }
+
+    private static List<ProgramCardButton> cardButtons(Group group, List<ProgramCardButton> result) {
+        for (Actor actor : group.getChildren()) {
+            if (actor instanceof ProgramCardButton) result.add((ProgramCardButton) actor);
+            else if (actor instanceof Group) cardButtons((Group) actor, result);
+        }
+        return result;
+    }
+
+    private static int countActors(Group group) {
+        int count = 1;
+        for (Actor actor : group.getChildren()) {
+            count += (actor instanceof Group) ? countActors((Group) actor) : 1;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,138 @@
+package inf112.gunit.hud;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import inf112.gunit.board.Direction;
+import inf112.gunit.engine.GameEngine;
+import inf112.gunit.engine.RobotState;
+import inf112.gunit.main.GdxTestRunner;
+import inf112.gunit.main.Main;
+import inf112.gunit.player.Robot;
+import inf112.gunit.screens.Game;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(GdxTestRunner.class)
+public class HudStatusTests {
+
+    private Game game;
+    private GameEngine engine;
+    private Hud hud;
+    private Graphics graphics;
+
+    @Before
+    public void initialise() {
+        if (Main.font == null) Main.font = new BitmapFont();
+
+        // the graphics of the headless backend can't size a stage
+        graphics = Gdx.graphics;
+        Gdx.graphics = mock(Graphics.class);
+
+        game = new Game(2, new TmxMapLoader().load("assets/board_new.tmx"));
+        engine = game.getEngine();
+        hud = new Hud(mock(SpriteBatch.class), game);
+        hud.update();
+    }
+
+    @After
+    public void dispose() {
+        hud.dispose();
+        game.dispose();
+        Gdx.graphics = graphics;
+    }
+
+    @Test
+    public void statusIsOnlyUpdatedWhenThePlayersRobotChanges() {
+        assertFalse(hud.isStatusChanged());
+
+        engine.destroy(engine.getRobot(1));
+        assertFalse(hud.isStatusChanged());
+
+        engine.destroy(game.getPlayerRobot().getState());
+        assertTrue(hud.isStatusChanged());
+
+        hud.update();
+        assertFalse(hud.isStatusChanged());
+    }
+
+    @Test
+    public void poweringDownRepairsTheStatus() {
+        RobotState robot = game.getPlayerRobot().getState();
+        robot.handleDamage(3);
+        hud.update();
+
+        robot.updatePowerDownDesire();
+        engine.startRound();
+
+        assertTrue(robot.isPoweredDown());
+        assertEquals(0, robot.getDamageMarkers());
+        assertTrue(hud.isStatusChanged());
+    }
+
+    @Test
+    public void changingTheStatusThroughTheRobotUpdatesTheHud() {
+        Robot robot = game.getPlayerRobot();
+
+        robot.handleDamage(2);
+        assertTrue(hud.isStatusChanged());
+        hud.update();
+
+        robot.repair();
+        assertTrue(hud.isStatusChanged());
+        hud.update();
+
+        robot.setFlagsCollected(1);
+        assertTrue(hud.isStatusChanged());
+        hud.update();
+
+        robot.handleDamage(1);
+        hud.update();
+        robot.setPoweredDown(true);
+        assertTrue(hud.isStatusChanged());
+    }
+
+    @Test
+    public void updatingTheStatusCreatesNoActors() {
+        int actors = countActors(hud.stage.getRoot());
+
+        // the wall at (2, 2) is placed on the east edge
+        RobotState robot = game.getPlayerRobot().getState();
+        engine.place(robot, 1, 2);
+        engine.move(robot, 3, Direction.EAST);
+        assertEquals(1, robot.getDamageMarkers());
+
+        hud.update();
+        assertEquals(actors, countActors(hud.stage.getRoot()));
+    }
+
+    @Test
+    public void disposedHudStopsListening() {
+        hud.dispose();
+        hud.update();
+
+        engine.destroy(game.getPlayerRobot().getState());
+        assertFalse(hud.isStatusChanged());
+
+        hud = new Hud(mock(SpriteBatch.class), game);
+    }
+
+    private static int countActors(Group group) {
+        int count = 1;
+        for (Actor actor : group.getChildren()) {
+            count += (actor instanceof Group) ? countActors((Group) actor) : 1;
+        }
+        return count;
+    }
+}
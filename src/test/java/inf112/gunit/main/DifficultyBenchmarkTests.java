@@ -0,0 +1,34 @@
+package inf112.gunit.main;
+
+import inf112.gunit.ai.Difficulty;
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.engine.TmxReader;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for checking that the difficulty benchmark records every decision of the measured tier
+ */
+public class DifficultyBenchmarkTests {
+
+    private static final CompiledBoard BOARD = new CompiledBoard(new TmxReader("assets/board_new.tmx"));
+
+    @Test
+    public void latenciesAreRecordedForEveryDecision() {
+        DifficultyBenchmark.Result result = new DifficultyBenchmark(BOARD, 1, 5).measure(Difficulty.MEDIUM, 2, new ForkJoinPool(1));
+
+        assertEquals(2, result.getGames());
+        assertTrue(result.getDecisions() > 0 && result.getDecisions() <= 2 * 5);
+        assertTrue(result.getWins() + result.getLosses() <= 2);
+        assertTrue(result.getLatencyMillis(50) <= result.getLatencyMillis(99));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void lowestTierHasNothingToBeMeasuredAgainst() {
+        new DifficultyBenchmark(BOARD, 1, 5).measure(Difficulty.EASY, 2, new ForkJoinPool(1));
+    }
+}
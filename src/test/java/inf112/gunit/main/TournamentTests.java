@@ -0,0 +1,43 @@
+package inf112.gunit.main;
+
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.engine.TmxReader;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for checking that tournaments are played without rendering, and can be reproduced
+ */
+public class TournamentTests {
+
+    private static final CompiledBoard BOARD = new CompiledBoard(new TmxReader("assets/board_new.tmx"));
+
+    @Test
+    public void everyGameEndsWithWinnerOrDraw() {
+        Tournament tournament = new Tournament(BOARD, new String[]{"easy", "hard", "hard"}, 1, 10);
+        Tournament.Result result = tournament.run(12, new ForkJoinPool(2));
+
+        assertEquals(12, result.getGames());
+        assertEquals(12, result.getWins(0) + result.getWins(1) + result.getWins(2) + result.getDraws());
+    }
+
+    @Test
+    public void sameSeedGivesSameResult() {
+        Tournament tournament = new Tournament(BOARD, new String[]{"easy", "hard"}, 7, 10);
+        Tournament.Result first = tournament.run(8, new ForkJoinPool(4));
+        Tournament.Result second = tournament.run(8, new ForkJoinPool(1));
+
+        assertEquals(first.getRounds(), second.getRounds());
+        assertEquals(first.getDeaths(), second.getDeaths());
+        assertEquals(first.getWins(0), second.getWins(0));
+        assertEquals(first.getWins(1), second.getWins(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownStrategyIsRejected() {
+        new Tournament(BOARD, new String[]{"easy", "clever"}, 1, 10);
+    }
+}
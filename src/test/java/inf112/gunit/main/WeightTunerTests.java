@@ -0,0 +1,48 @@
+package inf112.gunit.main;
+
+import inf112.gunit.ai.EvaluationWeights;
+import inf112.gunit.board.CompiledBoard;
+import inf112.gunit.engine.TmxReader;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for checking that the weight tuner plays its games headless, and can be reproduced
+ */
+public class WeightTunerTests {
+
+    private static final CompiledBoard BOARD = new CompiledBoard(new TmxReader("assets/board_new.tmx"));
+
+    @Test
+    public void tuningGivesTheFinalistsBestFirst() {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        WeightTuner.Candidate[] finalists = new WeightTuner(BOARD, 1, 4, 10, 3)
+                .tune(2, 4, new ForkJoinPool(2), new PrintStream(log));
+
+        assertEquals(3, finalists.length);
+        for (int i = 1; i < finalists.length; i++) assertTrue(finalists[i - 1].getWinRate() >= finalists[i].getWinRate());
+        assertEquals(2, log.toString().split("\n").length);
+    }
+
+    @Test
+    public void sameSeedGivesSameWeights() {
+        WeightTuner.Candidate[] first = new WeightTuner(BOARD, 1, 4, 10, 3).tune(2, 4, new ForkJoinPool(4), new PrintStream(new ByteArrayOutputStream()));
+        WeightTuner.Candidate[] second = new WeightTuner(BOARD, 1, 4, 10, 3).tune(2, 4, new ForkJoinPool(1), new PrintStream(new ByteArrayOutputStream()));
+
+        assertEquals(first[0].getWeights(), second[0].getWeights());
+        assertEquals(first[0].getWinRate(), second[0].getWinRate(), 0);
+    }
+
+    @Test
+    public void winRateIsBetweenZeroAndOne() {
+        double rate = new WeightTuner(BOARD, 1, 4, 10, 3).winRate(EvaluationWeights.DEFAULT, 5, 6, new ForkJoinPool(2));
+
+        assertTrue(rate >= 0 && rate <= 1);
+    }
+}
@@ -251,4 +251,22 @@ public class RobotShootLaserTest {
 
         assertEquals(before + 1, after);
     }
+
+    @Test
+    public void testToCheckThatLasersDoNotGoThroughWalls(){
+        // there is a wall on the south edge of (1, 1)
+        robotShooter.setPosition(new Vector2(1, 0));
+        robotBeingShot.setPosition(new Vector2(1, 1));
+        robotHidingBehind.setPosition(farAwayOutOfTheWay.cpy());
+        robotFarAway.setPosition(new Vector2(9, 9));
+
+        robotShooter.setDirection(Direction.NORTH);
+        robotBeingShot.setDirection(Direction.EAST);
+
+        int before = robotBeingShot.getDamageMarkers();
+        board.robotsFire();
+        int after = robotBeingShot.getDamageMarkers();
+
+        assertEquals(before, after);
+    }
 }
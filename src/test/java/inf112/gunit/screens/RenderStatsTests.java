@@ -0,0 +1,126 @@
+package inf112.gunit.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import inf112.gunit.main.GdxTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(GdxTestRunner.class)
+public class RenderStatsTests {
+
+    private RenderStats stats;
+    private Graphics graphics;
+
+    // the GL calls of the frames, counted by the stats
+    private GL20 gl;
+
+    @Before
+    public void initialise() {
+        graphics = mock(Graphics.class);
+        when(graphics.getGL20()).thenReturn(Gdx.gl);
+
+        stats = new RenderStats(graphics);
+        stats.enable();
+
+        ArgumentCaptor<GL20> interceptor = ArgumentCaptor.forClass(GL20.class);
+        verify(graphics).setGL20(interceptor.capture());
+        gl = interceptor.getValue();
+    }
+
+    private void drawSprites(int sprites) {
+        gl.glDrawElements(GL20.GL_TRIANGLES, sprites * 6, GL20.GL_UNSIGNED_SHORT, 0);
+    }
+
+    @Test
+    public void emptyFrameCountsNothing() {
+        stats.beginFrame();
+        stats.endFrame();
+
+        assertEquals(0, stats.getDrawCalls());
+        assertEquals(0, stats.getTextureBindings());
+        assertEquals(0, stats.getSprites());
+        assertEquals(1, stats.getFrames());
+    }
+
+    @Test
+    public void frameCountsDrawCallsBindsAndSprites() {
+        stats.beginFrame();
+        gl.glBindTexture(GL20.GL_TEXTURE_2D, 1);
+        drawSprites(100);
+        gl.glBindTexture(GL20.GL_TEXTURE_2D, 2);
+        drawSprites(5);
+        stats.endFrame();
+
+        assertEquals(2, stats.getDrawCalls());
+        assertEquals(2, stats.getTextureBindings());
+        assertEquals(105, stats.getSprites());
+    }
+
+    @Test
+    public void eachFrameIsCountedOnItsOwn() {
+        stats.beginFrame();
+        drawSprites(10);
+        drawSprites(10);
+        stats.endFrame();
+
+        stats.beginFrame();
+        drawSprites(3);
+        stats.endFrame();
+
+        assertEquals(1, stats.getDrawCalls());
+        assertEquals(3, stats.getSprites());
+        assertEquals(2, stats.getFrames());
+    }
+
+    @Test
+    public void countsAreKeptUntilTheNextFrameEnds() {
+        stats.beginFrame();
+        drawSprites(4);
+        stats.endFrame();
+
+        // calls outside of a frame, or in a frame which hasn't ended, don't change the counts
+        stats.beginFrame();
+        drawSprites(7);
+
+        assertEquals(1, stats.getDrawCalls());
+        assertEquals(4, stats.getSprites());
+    }
+
+    @Test
+    public void gameOnlyCountsWhenTurnedOn() {
+        Game game = new Game(1, new TmxMapLoader().load("assets/board_new.tmx"));
+        assertNull(game.getRenderStats());
+
+        Graphics previous = Gdx.graphics;
+        Gdx.graphics = graphics;
+        try {
+            game.setRenderStatsEnabled(true);
+            assertNotNull(game.getRenderStats());
+
+            // the second interceptor is the game's, turning it off puts back the GL it intercepted
+            ArgumentCaptor<GL20> interceptor = ArgumentCaptor.forClass(GL20.class);
+            verify(graphics, times(2)).setGL20(interceptor.capture());
+            when(graphics.getGL20()).thenReturn(interceptor.getValue());
+
+            game.setRenderStatsEnabled(false);
+            assertNull(game.getRenderStats());
+            verify(graphics).setGL20(Gdx.gl);
+        } finally {
+            Gdx.graphics = previous;
+            game.dispose();
+        }
+    }
+}